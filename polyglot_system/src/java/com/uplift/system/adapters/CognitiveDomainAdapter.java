@@ -2,10 +2,11 @@ package com.uplift.system.adapters;
 
 import com.uplift.system.events.DomainAwareEventBus.Domain;
 import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
 import org.jetbrains.annotations.NotNull;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.Optional;
 
 /**
@@ -15,7 +16,9 @@ import java.util.Optional;
  */
 public class CognitiveDomainAdapter implements DomainAwareAdapter {
     private final SystemConfig config;
-    private final Map<String, AtomicLong> metrics;
+    private final CounterRegistry metrics;
+    private final Counter workingMemoryAccess;
+    private final Counter metaCognitiveEvents;
     private final Map<String, Object> workingMemory;
     private final Map<String, Object> longTermMemory;
     private final double attentionThreshold;
@@ -28,21 +31,17 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
      */
     public CognitiveDomainAdapter(@NotNull SystemConfig config) {
         this.config = Objects.requireNonNull(config, "Config must not be null");
-        this.metrics = new ConcurrentHashMap<>();
+        this.metrics = new CounterRegistry();
+        this.workingMemoryAccess = metrics.counter("workingMemoryAccess");
+        this.metaCognitiveEvents = metrics.counter("metaCognitiveEvents");
+        metrics.counter("longTermMemoryAccess");
+        metrics.counter("attentionalShifts");
         this.workingMemory = new ConcurrentHashMap<>();
         this.longTermMemory = new ConcurrentHashMap<>();
         this.attentionThreshold = Optional.ofNullable(config.getDomainSetting(
             Domain.COGNITIVE, "attention.threshold", 0.75))
             .map(value -> (double) value)
             .orElse(0.75);
-        initializeMetrics();
-    }
-
-    private void initializeMetrics() {
-        metrics.put("workingMemoryAccess", new AtomicLong(0));
-        metrics.put("longTermMemoryAccess", new AtomicLong(0));
-        metrics.put("attentionalShifts", new AtomicLong(0));
-        metrics.put("metaCognitiveEvents", new AtomicLong(0));
     }
 
     @Override
@@ -52,7 +51,7 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
 
     @Override
     public Object transformBetweenDomains(Object entity, Domain sourceDomain, Domain targetDomain) {
-        metrics.get("metaCognitiveEvents").incrementAndGet();
+        metaCognitiveEvents.increment();
         
         if (sourceDomain == Domain.COGNITIVE) {
             return transformFromCognitive(entity, targetDomain);
@@ -75,7 +74,7 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
         if (meetAttentionThreshold(cognitiveForm)) {
             String memoryKey = generateMemoryKey(entity);
             workingMemory.put(memoryKey, cognitiveForm);
-            metrics.get("workingMemoryAccess").incrementAndGet();
+            workingMemoryAccess.increment();
         }
         
         return cognitiveForm;
@@ -90,7 +89,7 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
         Map<String, Object> cognitiveEntity = (Map<String, Object>) entity;
         
         // Access working memory and update metrics
-        metrics.get("workingMemoryAccess").incrementAndGet();
+        workingMemoryAccess.increment();
         
         if (targetDomain == Domain.COMPUTATIONAL) {
             return transformToComputational(cognitiveEntity);
@@ -137,9 +136,7 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
 
     @Override
     public Map<String, Object> getDomainMetrics(Domain domain) {
-        Map<String, Object> domainMetrics = new HashMap<>();
-        metrics.forEach((key, value) -> domainMetrics.put(key, value.get()));
-        return domainMetrics;
+        return metrics.snapshot();
     }
 
     @Override
@@ -254,8 +251,7 @@ public class CognitiveDomainAdapter implements DomainAwareAdapter {
      */
     private double calculateInteractionScore(@NotNull Object entity) {
         String memoryKey = generateMemoryKey(entity);
-        AtomicLong accessCount = metrics.getOrDefault("workingMemoryAccess", new AtomicLong(0));
-        return Math.min(accessCount.get() * 0.1, 1.0);
+        return Math.min(workingMemoryAccess.sum() * 0.1, 1.0);
     }
 
     /**
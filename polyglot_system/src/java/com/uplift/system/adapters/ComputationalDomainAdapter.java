@@ -2,9 +2,10 @@ package com.uplift.system.adapters;
 
 import com.uplift.system.events.DomainAwareEventBus.Domain;
 import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Adapter for handling transformations and operations in the Computational domain.
@@ -26,7 +27,11 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class ComputationalDomainAdapter implements DomainAwareAdapter {
     private final SystemConfig config;
-    private final Map<String, AtomicLong> metrics;
+    private final CounterRegistry metrics;
+    private final Counter transformations;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter validationFailures;
     private final Map<String, Object> cache;
 
     /**
@@ -36,19 +41,12 @@ public class ComputationalDomainAdapter implements DomainAwareAdapter {
      */
     public ComputationalDomainAdapter(SystemConfig config) {
         this.config = config;
-        this.metrics = new ConcurrentHashMap<>();
+        this.metrics = new CounterRegistry();
+        this.transformations = metrics.counter("transformations");
+        this.cacheHits = metrics.counter("cacheHits");
+        this.cacheMisses = metrics.counter("cacheMisses");
+        this.validationFailures = metrics.counter("validationFailures");
         this.cache = new ConcurrentHashMap<>();
-        initializeMetrics();
-    }
-
-    /**
-     * Initializes the metrics tracking system with default counters.
-     */
-    private void initializeMetrics() {
-        metrics.put("transformations", new AtomicLong(0));
-        metrics.put("cacheHits", new AtomicLong(0));
-        metrics.put("cacheMisses", new AtomicLong(0));
-        metrics.put("validationFailures", new AtomicLong(0));
     }
 
     /**
@@ -66,7 +64,7 @@ public class ComputationalDomainAdapter implements DomainAwareAdapter {
      */
     @Override
     public Object transformBetweenDomains(Object entity, Domain sourceDomain, Domain targetDomain) {
-        metrics.get("transformations").incrementAndGet();
+        transformations.increment();
         
         if (sourceDomain == Domain.COMPUTATIONAL && targetDomain == Domain.COGNITIVE) {
             return transformToNeuralRepresentation(entity);
@@ -129,9 +127,7 @@ public class ComputationalDomainAdapter implements DomainAwareAdapter {
      */
     @Override
     public Map<String, Object> getDomainMetrics(Domain domain) {
-        Map<String, Object> domainMetrics = new HashMap<>();
-        metrics.forEach((key, value) -> domainMetrics.put(key, value.get()));
-        return domainMetrics;
+        return metrics.snapshot();
     }
 
     /**
@@ -142,12 +138,12 @@ public class ComputationalDomainAdapter implements DomainAwareAdapter {
     @Override
     public void validateForDomain(Object entity, Domain domain) {
         if (domain != Domain.COMPUTATIONAL) {
-            metrics.get("validationFailures").incrementAndGet();
+            validationFailures.increment();
             throw new IllegalArgumentException("Entity not valid for computational domain");
         }
         
         if (!(entity instanceof Map)) {
-            metrics.get("validationFailures").incrementAndGet();
+            validationFailures.increment();
             throw new IllegalArgumentException("Entity must be a Map");
         }
     }
@@ -176,11 +172,11 @@ public class ComputationalDomainAdapter implements DomainAwareAdapter {
         String cacheKey = generateCacheKey(nativeEntity);
         
         if (cache.containsKey(cacheKey)) {
-            metrics.get("cacheHits").incrementAndGet();
+            cacheHits.increment();
             return (Map<String, Object>) cache.get(cacheKey);
         }
         
-        metrics.get("cacheMisses").incrementAndGet();
+        cacheMisses.increment();
         Map<String, Object> normalized = convertToNormalizedForm(nativeEntity);
         cache.put(cacheKey, normalized);
         
@@ -2,10 +2,12 @@ package com.uplift.system.adapters;
 
 import com.uplift.system.events.DomainAwareEventBus.Domain;
 import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import com.uplift.system.monitoring.CounterRegistry.Gauge;
 import org.jetbrains.annotations.NotNull;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.Optional;
 
 /**
@@ -15,7 +17,11 @@ import java.util.Optional;
  */
 public class RepresentationalDomainAdapter implements DomainAwareAdapter {
     private final SystemConfig config;
-    private final Map<String, AtomicLong> metrics;
+    private final CounterRegistry metrics;
+    private final Counter anchorDefinitions;
+    private final Counter referenceResolutions;
+    private final Counter structureTransformations;
+    private final Gauge compressionRatio;
     private final Map<String, Object> anchorRegistry;
     private final Map<String, List<String>> referenceGraph;
 
@@ -27,17 +33,13 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
      */
     public RepresentationalDomainAdapter(@NotNull SystemConfig config) {
         this.config = Objects.requireNonNull(config, "Config must not be null");
-        this.metrics = new ConcurrentHashMap<>();
+        this.metrics = new CounterRegistry();
+        this.anchorDefinitions = metrics.counter("anchorDefinitions");
+        this.referenceResolutions = metrics.counter("referenceResolutions");
+        this.structureTransformations = metrics.counter("structureTransformations");
+        this.compressionRatio = metrics.gauge("compressionRatio");
         this.anchorRegistry = new ConcurrentHashMap<>();
         this.referenceGraph = new ConcurrentHashMap<>();
-        initializeMetrics();
-    }
-
-    private void initializeMetrics() {
-        metrics.put("anchorDefinitions", new AtomicLong(0));
-        metrics.put("referenceResolutions", new AtomicLong(0));
-        metrics.put("structureTransformations", new AtomicLong(0));
-        metrics.put("compressionRatio", new AtomicLong(0));
     }
 
     @Override
@@ -53,7 +55,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
         Objects.requireNonNull(sourceDomain, "Source domain must not be null");
         Objects.requireNonNull(targetDomain, "Target domain must not be null");
         
-        metrics.get("structureTransformations").incrementAndGet();
+        structureTransformations.increment();
         
         if (sourceDomain == Domain.REPRESENTATIONAL) {
             return transformFromRepresentational(entity, targetDomain);
@@ -97,7 +99,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
         
         if (originalSize > 0) {
             double ratio = (double) transformedSize / originalSize;
-            metrics.get("compressionRatio").set((long) (ratio * 100));
+            compressionRatio.set((long) (ratio * 100));
         }
     }
 
@@ -137,7 +139,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
                 if (isAnchorCandidate(value)) {
                     String anchor = createAnchor(key, value);
                     structure.put(key, Map.of("&" + anchor, value));
-                    metrics.get("anchorDefinitions").incrementAndGet();
+                    anchorDefinitions.increment();
                 } else {
                     structure.put(key, value);
                 }
@@ -224,8 +226,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
 
     @Override
     public Map<String, Object> getDomainMetrics(Domain domain) {
-        Map<String, Object> domainMetrics = new HashMap<>();
-        metrics.forEach((key, value) -> domainMetrics.put(key, value.get()));
+        Map<String, Object> domainMetrics = metrics.snapshot();
         
         // Add YAML-specific metrics
         domainMetrics.put("activeAnchors", anchorRegistry.size());
@@ -293,7 +294,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
                 if (isAnchorCandidate(value)) {
                     String anchor = createAnchor(key, value);
                     anchors.put(anchor, value);
-                    metrics.get("anchorDefinitions").incrementAndGet();
+                    anchorDefinitions.increment();
                 }
             });
         }
@@ -313,7 +314,7 @@ public class RepresentationalDomainAdapter implements DomainAwareAdapter {
                 if (hasReference(value)) {
                     String reference = resolveReference(value);
                     references.put(key, "*" + reference);
-                    metrics.get("referenceResolutions").incrementAndGet();
+                    referenceResolutions.increment();
                 }
             });
         }
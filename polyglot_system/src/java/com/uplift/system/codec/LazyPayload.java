@@ -0,0 +1,195 @@
+package com.uplift.system.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map over one encoded map of a {@link PayloadCodec} message.
+ *
+ * <p>Construction walks the map's entries once, skipping over their values, to record where
+ * each value starts. Reading a field then resolves the key in the message's dictionary and
+ * decodes only that value; nested maps come back as views themselves. Values are not cached,
+ * so callers that read every field repeatedly should copy the view into a {@code HashMap}.
+ */
+final class LazyPayload extends AbstractMap<String, Object> {
+    private final Dictionary dictionary;
+    private final ByteBuffer data;
+    private final int[] keyIndexes;
+    private final int[] valuePositions;
+    private final int end;
+    private Set<Map.Entry<String, Object>> entries;
+
+    /**
+     * Creates a view of the map whose tag is at the given position.
+     */
+    LazyPayload(@NotNull Dictionary dictionary, @NotNull ByteBuffer data, int position) {
+        this.dictionary = dictionary;
+        this.data = data;
+        ByteBuffer reader = data.duplicate().position(position + 1);
+        int size = PayloadCodec.readCount(reader);
+        int contentSize = reader.getInt();
+        this.end = reader.position() + contentSize;
+        if (end > reader.limit()) {
+            throw new IllegalArgumentException("Truncated payload");
+        }
+        this.keyIndexes = new int[size];
+        this.valuePositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            keyIndexes[i] = PayloadCodec.readCount(reader);
+            valuePositions[i] = reader.position();
+            PayloadCodec.skipValue(reader);
+        }
+    }
+
+    /**
+     * Returns the position just past this map's encoding.
+     */
+    int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int size() {
+        return keyIndexes.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    @Nullable
+    public Object get(Object key) {
+        int entry = find(key);
+        return entry >= 0 ? valueAt(entry) : null;
+    }
+
+    @Override
+    @NotNull
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keyIndexes.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            if (next >= keyIndexes.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int entry = next++;
+                            return new SimpleImmutableEntry<>(dictionary.key(keyIndexes[entry]), valueAt(entry));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keyIndexes.length;
+                }
+            };
+        }
+        return entries;
+    }
+
+    private int find(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        int index = dictionary.indexOf((String) key);
+        if (index < 0) {
+            return -1;
+        }
+        for (int entry = 0; entry < keyIndexes.length; entry++) {
+            if (keyIndexes[entry] == index) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private Object valueAt(int entry) {
+        return PayloadCodec.readValue(data.duplicate().position(valuePositions[entry]), null, dictionary);
+    }
+
+    /**
+     * The key dictionary of one message, decoding each key the first time it is needed.
+     */
+    static final class Dictionary {
+        private final ByteBuffer data;
+        private final int[] positions;
+        private final String[] keys;
+
+        Dictionary(@NotNull ByteBuffer data, @NotNull int[] positions) {
+            this.data = data;
+            this.positions = positions;
+            this.keys = new String[positions.length];
+        }
+
+        @NotNull
+        String key(int index) {
+            if (index >= keys.length) {
+                throw new IllegalArgumentException("Invalid key index " + index);
+            }
+            String key = keys[index];
+            if (key == null) {
+                // Racing threads decode equal strings, so an unsynchronized cache is safe
+                key = PayloadCodec.readString(data.duplicate().position(positions[index]));
+                keys[index] = key;
+            }
+            return key;
+        }
+
+        int indexOf(@NotNull String key) {
+            byte[] encoded = null;
+            for (int i = 0; i < keys.length; i++) {
+                String cached = keys[i];
+                if (cached != null) {
+                    if (cached.equals(key)) {
+                        return i;
+                    }
+                    continue;
+                }
+                // Compare bytes so looking up one key doesn't decode the others
+                if (encoded == null) {
+                    encoded = key.getBytes(StandardCharsets.UTF_8);
+                }
+                if (matches(positions[i], encoded)) {
+                    keys[i] = key;
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int position, byte[] encoded) {
+            ByteBuffer reader = data.duplicate().position(position);
+            if (PayloadCodec.readCount(reader) != encoded.length) {
+                return false;
+            }
+            int start = reader.position();
+            for (int i = 0; i < encoded.length; i++) {
+                if (data.get(start + i) != encoded[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.uplift.system.codec;
+
+import org.jetbrains.annotations.NotNull;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, schema-less binary encoding for {@code Map<String, Object>} payloads.
+ *
+ * <p>A message starts with a format version byte and a key dictionary: every distinct map key
+ * of the payload, at any depth, is written once, and maps refer to their keys by dictionary
+ * index. Payloads with many maps of the same shape, such as lists of records, therefore store
+ * each key name once. The root map follows.
+ *
+ * <p>Every value is a one-byte tag followed by its data. Integral numbers are zigzag varints, so
+ * small magnitudes take one or two bytes; floating-point numbers take four bytes when a float
+ * holds them exactly and eight otherwise; strings and byte arrays are a varint length and the
+ * bytes. Lists and maps carry their element count and the byte size of their contents, so a
+ * reader can skip them without parsing. Supported values are null, booleans, integral numbers
+ * (decoded as longs), floating-point numbers (decoded as doubles), strings, byte arrays, enums
+ * (written as their name), lists and string-keyed maps, nested to any depth. Other value types
+ * are rejected rather than silently converted, so a decoded payload has the same content as
+ * the encoded one.
+ *
+ * <p>{@link #decodeLazy} returns a read-only map over the encoded bytes that decodes a field
+ * only when it is read, for consumers that look at a few fields of large payloads.
+ */
+public final class PayloadCodec {
+
+    static final byte VERSION = 2;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte FLOAT = 4;
+    static final byte DOUBLE = 5;
+    static final byte STRING = 6;
+    static final byte BYTES = 7;
+    static final byte LIST = 8;
+    static final byte MAP = 9;
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_RETAINED_KEYS = 1024;
+    private static final ThreadLocal<Encoder> ENCODERS = ThreadLocal.withInitial(Encoder::new);
+
+    private PayloadCodec() {
+    }
+
+    /**
+     * Encodes a payload.
+     *
+     * @param payload The payload to encode
+     * @return The encoded bytes
+     * @throws IllegalArgumentException if the payload contains a value of an unsupported type
+     */
+    @NotNull
+    public static byte[] encode(@NotNull Map<String, Object> payload) {
+        Encoder encoder = ENCODERS.get();
+        encoder.encode(payload);
+        byte[] encoded = new byte[encoder.header.size + encoder.body.size];
+        System.arraycopy(encoder.header.bytes, 0, encoded, 0, encoder.header.size);
+        System.arraycopy(encoder.body.bytes, 0, encoded, encoder.header.size, encoder.body.size);
+        encoder.release();
+        return encoded;
+    }
+
+    /**
+     * Encodes a payload into the buffer at its position, advancing the position past it.
+     *
+     * @param payload The payload to encode
+     * @param target The buffer to write to
+     * @throws BufferOverflowException if the buffer has too little room left; nothing is
+     *                                 written then
+     * @throws IllegalArgumentException if the payload contains a value of an unsupported type
+     */
+    public static void encode(@NotNull Map<String, Object> payload, @NotNull ByteBuffer target) {
+        Encoder encoder = ENCODERS.get();
+        encoder.encode(payload);
+        if (target.remaining() < encoder.header.size + encoder.body.size) {
+            encoder.release();
+            throw new BufferOverflowException();
+        }
+        target.put(encoder.header.bytes, 0, encoder.header.size);
+        target.put(encoder.body.bytes, 0, encoder.body.size);
+        encoder.release();
+    }
+
+    /**
+     * Decodes a payload starting at the buffer's position, advancing the position past it.
+     *
+     * @param buffer The buffer to read from
+     * @return A mutable map with the decoded entries
+     * @throws IllegalArgumentException if the buffer does not hold a valid encoded payload
+     */
+    @NotNull
+    public static Map<String, Object> decode(@NotNull ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            String[] keys = new String[readHeader(buffer)];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = readString(buffer);
+            }
+            if (buffer.get() != MAP) {
+                throw new IllegalArgumentException("Encoded payload must hold a map");
+            }
+            return readMap(buffer, keys);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated payload", e);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the payload starting at the buffer's position, and advances
+     * the position past it. Only the key dictionary and the root map's entry offsets are read
+     * up front; a value is decoded each time it is read, with nested maps returned as views
+     * too. The view reads from the buffer, whose content must not change while it is used.
+     *
+     * @param buffer The buffer to read from
+     * @return A read-only map over the encoded payload
+     * @throws IllegalArgumentException if the buffer does not hold a valid encoded payload
+     */
+    @NotNull
+    public static Map<String, Object> decodeLazy(@NotNull ByteBuffer buffer) {
+        ByteBuffer data = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        try {
+            int[] keyPositions = new int[readHeader(data)];
+            for (int i = 0; i < keyPositions.length; i++) {
+                keyPositions[i] = data.position();
+                skipBytes(data);
+            }
+            int root = data.position();
+            if (data.get() != MAP) {
+                throw new IllegalArgumentException("Encoded payload must hold a map");
+            }
+            LazyPayload payload = new LazyPayload(new LazyPayload.Dictionary(data, keyPositions), data, root);
+            buffer.position(buffer.position() + payload.getEnd());
+            return payload;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated payload", e);
+        }
+    }
+
+    private static int readHeader(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported payload format version " + version);
+        }
+        return readCount(buffer);
+    }
+
+    /**
+     * Reads the value at the buffer's position, decoding nested maps eagerly into mutable
+     * maps, or into {@link LazyPayload} views when a dictionary is given instead of keys.
+     */
+    static Object readValue(ByteBuffer buffer, String[] keys, LazyPayload.Dictionary dictionary) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INT: {
+                long zigzag = readVarLong(buffer);
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            case FLOAT:
+                return (double) buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING:
+                return readString(buffer);
+            case BYTES: {
+                byte[] bytes = new byte[readCount(buffer)];
+                buffer.get(bytes);
+                return bytes;
+            }
+            case LIST: {
+                int size = readCount(buffer);
+                buffer.getInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(buffer, keys, dictionary));
+                }
+                return list;
+            }
+            case MAP:
+                if (dictionary != null) {
+                    LazyPayload map = new LazyPayload(dictionary, buffer, buffer.position() - 1);
+                    buffer.position(map.getEnd());
+                    return map;
+                }
+                return readMap(buffer, keys);
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Advances the buffer past the value at its position without decoding it.
+     */
+    static void skipValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+            case FALSE:
+            case TRUE:
+                return;
+            case INT:
+                readVarLong(buffer);
+                return;
+            case FLOAT:
+                buffer.position(buffer.position() + 4);
+                return;
+            case DOUBLE:
+                buffer.position(buffer.position() + 8);
+                return;
+            case STRING:
+            case BYTES:
+                skipBytes(buffer);
+                return;
+            case LIST:
+            case MAP: {
+                readCount(buffer);
+                int size = buffer.getInt();
+                buffer.position(buffer.position() + size);
+                return;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+    }
+
+    private static Map<String, Object> readMap(ByteBuffer buffer, String[] keys) {
+        int size = readCount(buffer);
+        buffer.getInt();
+        Map<String, Object> map = new HashMap<>(Math.max(4, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            String key = keys[readCount(buffer)];
+            map.put(key, readValue(buffer, keys, null));
+        }
+        return map;
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = readCount(buffer);
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipBytes(ByteBuffer buffer) {
+        int length = readCount(buffer);
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Reads a non-negative varint that must fit in an int, such as a length or an index.
+     */
+    static int readCount(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid length " + value);
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Per-thread encoding state, reused across payloads so encoding allocates little besides
+     * its result. The body is written first, assigning dictionary indexes to keys as they
+     * are met, and the header with the dictionary is written separately to precede it.
+     */
+    private static final class Encoder {
+        private final Map<String, Integer> keyIndexes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final Output header = new Output();
+        private final Output body = new Output();
+
+        void encode(Map<String, Object> payload) {
+            keyIndexes.clear();
+            keys.clear();
+            header.size = 0;
+            body.size = 0;
+            writeValue(payload);
+            header.writeByte(VERSION);
+            header.writeVarLong(keys.size());
+            for (String key : keys) {
+                header.writeString(key);
+            }
+        }
+
+        /**
+         * Drops buffers and dictionary entries grown by an unusually large payload, so they
+         * aren't pinned to the thread.
+         */
+        void release() {
+            if (keys.size() > MAX_RETAINED_KEYS) {
+                keyIndexes.clear();
+                keys.clear();
+            }
+            header.trim();
+            body.trim();
+        }
+
+        private void writeValue(Object value) {
+            Output out = body;
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                long number = ((Number) value).longValue();
+                out.writeByte(INT);
+                out.writeVarLong((number << 1) ^ (number >> 63));
+            } else if (value instanceof Double || value instanceof Float) {
+                double number = ((Number) value).doubleValue();
+                float narrowed = (float) number;
+                if (narrowed == number) {
+                    out.writeByte(FLOAT);
+                    out.writeInt(Float.floatToRawIntBits(narrowed));
+                } else {
+                    out.writeByte(DOUBLE);
+                    long bits = Double.doubleToRawLongBits(number);
+                    out.writeInt((int) (bits >>> 32));
+                    out.writeInt((int) bits);
+                }
+            } else if (value instanceof CharSequence || value instanceof Enum) {
+                out.writeByte(STRING);
+                out.writeString(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+            } else if (value instanceof byte[]) {
+                byte[] data = (byte[]) value;
+                out.writeByte(BYTES);
+                out.writeVarLong(data.length);
+                out.writeBytes(data);
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                out.writeByte(LIST);
+                out.writeVarLong(list.size());
+                int sizePosition = out.reserveInt();
+                for (Object element : list) {
+                    writeValue(element);
+                }
+                out.patchSize(sizePosition);
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeByte(MAP);
+                out.writeVarLong(map.size());
+                int sizePosition = out.reserveInt();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    out.writeVarLong(keyIndex(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+                out.patchSize(sizePosition);
+            } else {
+                throw new IllegalArgumentException("Cannot encode payload value of type " + value.getClass().getName());
+            }
+        }
+
+        private int keyIndex(Object key) {
+            if (!(key instanceof String)) {
+                throw new IllegalArgumentException("Payload map keys must be strings");
+            }
+            Integer index = keyIndexes.get(key);
+            if (index == null) {
+                index = keys.size();
+                keyIndexes.put((String) key, index);
+                keys.add((String) key);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Growable byte array the encoder writes to.
+     */
+    private static final class Output {
+        private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+        private int size;
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] data) {
+            ensureCapacity(data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        void writeString(String value) {
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    byte[] data = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarLong(data.length);
+                    writeBytes(data);
+                    return;
+                }
+            }
+            // ASCII: one byte per char, without an intermediate array
+            writeVarLong(length);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                bytes[size++] = (byte) value.charAt(i);
+            }
+        }
+
+        /**
+         * Reserves four bytes for a container size and returns their position.
+         */
+        int reserveInt() {
+            ensureCapacity(4);
+            size += 4;
+            return size - 4;
+        }
+
+        /**
+         * Fills in a reserved container size with the number of bytes written since.
+         */
+        void patchSize(int position) {
+            int length = size - position - 4;
+            bytes[position] = (byte) (length >>> 24);
+            bytes[position + 1] = (byte) (length >>> 16);
+            bytes[position + 2] = (byte) (length >>> 8);
+            bytes[position + 3] = (byte) length;
+        }
+
+        void trim() {
+            if (bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+                bytes = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
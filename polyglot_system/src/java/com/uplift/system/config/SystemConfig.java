@@ -42,8 +42,10 @@ public class SystemConfig {
      * <ul>
      *   <li>Cache configuration (enabled, size, expiration)</li>
      *   <li>Performance settings (optimization interval, concurrent operations)</li>
-     *   <li>Monitoring configuration (enabled, metrics interval)</li>
-     *   <li>Event bus settings (queue size, worker threads)</li>
+     *   <li>Monitoring configuration (enabled, metrics interval, metric retention)</li>
+     *   <li>Event bus settings (queue size, worker threads, dispatch and execution modes, overflow policy, ring buffer size, latency mode, route cache size, request timer, delivery retries, dead-letter capacity, slow-subscriber quarantine, reactive stream buffer)</li>
+     *   <li>Event journal settings (directory, segment size, sync interval, retention)</li>
+     *   <li>Cross-process transport settings (mode, ring files, socket path, forwarded topics)</li>
      * </ul>
      * 
      * <p>Domain-specific defaults are set based on the characteristics of each domain:
@@ -52,6 +54,7 @@ public class SystemConfig {
      *   <li>COGNITIVE: Adaptive learning settings</li>
      *   <li>REPRESENTATIONAL: Space optimization settings</li>
      * </ul>
+     * Each domain also has an event bus lane weight; cognitive events get the largest share.
      */
     private void setDefaults() {
         // Global settings
@@ -64,9 +67,47 @@ public class SystemConfig {
         
         settings.put("monitoring.enabled", true);
         settings.put("monitoring.metricsInterval", Duration.ofSeconds(30));
+        settings.put("monitoring.retentionAge", Duration.ofHours(1));
+        settings.put("monitoring.retentionBuckets", 60);
+        settings.put("monitoring.maxSamplesPerMetric", 10000);
         
         settings.put("eventBus.maxQueueSize", 1000);
         settings.put("eventBus.workerThreads", 4);
+        settings.put("eventBus.dispatchMode", "sync");
+        settings.put("eventBus.ringBufferSize", 8192);
+        settings.put("eventBus.executionMode", "inline");
+        settings.put("eventBus.overflowPolicy", "block");
+        settings.put("eventBus.overflowTimeout", Duration.ofSeconds(5));
+        settings.put("eventBus.conflationKey", "key");
+        settings.put("eventBus.latencyMode", "cumulative");
+        settings.put("eventBus.routeCacheSize", 10000);
+        settings.put("eventBus.timerTick", Duration.ofMillis(10));
+        settings.put("eventBus.timerWheelSize", 512);
+        settings.put("eventBus.retryStrategy", "exponential_backoff");
+        settings.put("eventBus.maxRetries", 3);
+        settings.put("eventBus.retryBaseDelay", Duration.ofMillis(100));
+        settings.put("eventBus.retryMaxDelay", Duration.ofSeconds(10));
+        settings.put("eventBus.maxPendingRetries", 10000);
+        settings.put("eventBus.deadLetterCapacity", 1000);
+        settings.put("eventBus.subscriberLatencyBudget", Duration.ofMillis(10));
+        settings.put("eventBus.quarantineOverflowPolicy", "drop_oldest");
+        settings.put("eventBus.quarantineThreads", 4);
+        settings.put("eventBus.flowBufferSize", 256);
+
+        settings.put("journal.enabled", false);
+        settings.put("journal.directory", "data/journal");
+        settings.put("journal.segmentSize", 64 * 1024 * 1024);
+        settings.put("journal.indexInterval", 4096);
+        settings.put("journal.syncInterval", Duration.ofMillis(10));
+        settings.put("journal.retentionBytes", 1024L * 1024 * 1024);
+        settings.put("journal.retentionAge", Duration.ofDays(7));
+
+        settings.put("transport.mode", "auto");
+        settings.put("transport.directory", "data/transport");
+        settings.put("transport.ringCapacity", 1024 * 1024);
+        settings.put("transport.socketPath", "data/transport/bus.sock");
+        settings.put("transport.topics", "#");
+        settings.put("transport.sendTimeout", Duration.ofMillis(100));
 
         // Domain-specific settings
         for (Domain domain : Domain.values()) {
@@ -77,18 +118,21 @@ public class SystemConfig {
                     domainConfig.put("optimization.strategy", "performance");
                     domainConfig.put("cache.policy", "lru");
                     domainConfig.put("validation.level", "strict");
+                    domainConfig.put("eventBus.laneWeight", 1);
                     break;
                     
                 case COGNITIVE:
                     domainConfig.put("optimization.strategy", "adaptive");
                     domainConfig.put("learning.enabled", true);
                     domainConfig.put("feedback.interval", Duration.ofMinutes(5));
+                    domainConfig.put("eventBus.laneWeight", 8);
                     break;
                     
                 case REPRESENTATIONAL:
                     domainConfig.put("optimization.strategy", "space");
                     domainConfig.put("compression.enabled", true);
                     domainConfig.put("indexing.enabled", true);
+                    domainConfig.put("eventBus.laneWeight", 2);
                     break;
             }
             
@@ -127,6 +171,42 @@ public class SystemConfig {
         return settings.getOrDefault(key, defaultValue);
     }
     
+    /**
+     * Retrieves a numeric global configuration value as an int.
+     * 
+     * @param key The configuration key using dot notation
+     * @param defaultValue The value to return if the key is not found or is not numeric
+     * @return The configuration value as an int, or defaultValue
+     */
+    public int getIntValue(String key, int defaultValue) {
+        Object value = settings.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+    
+    /**
+     * Retrieves a numeric global configuration value as a long.
+     * 
+     * @param key The configuration key using dot notation
+     * @param defaultValue The value to return if the key is not found or is not numeric
+     * @return The configuration value as a long, or defaultValue
+     */
+    public long getLongValue(String key, long defaultValue) {
+        Object value = settings.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+    
+    /**
+     * Retrieves a Duration global configuration value.
+     * 
+     * @param key The configuration key using dot notation
+     * @param defaultValue The value to return if the key is not found or is not a Duration
+     * @return The configuration value as a Duration, or defaultValue
+     */
+    public Duration getDurationValue(String key, Duration defaultValue) {
+        Object value = settings.get(key);
+        return value instanceof Duration ? (Duration) value : defaultValue;
+    }
+    
     /**
      * Checks if a feature is enabled in the global configuration.
      * 
@@ -0,0 +1,117 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Holds the undelivered payloads of a conflating subscription, keyed by a payload field.
+ * A newer payload with the same key replaces the pending one, so a slow consumer only
+ * sees the latest state for each key. Keys are drained in the order they first arrived.
+ */
+final class ConflatingMailbox {
+    private static final Object NO_KEY = new Object();
+
+    private final String keyField;
+    private final Map<Object, Map<String, Object>> pending;
+    private final AtomicBoolean drainScheduled;
+
+    ConflatingMailbox(@NotNull String keyField) {
+        this.keyField = keyField;
+        this.pending = new LinkedHashMap<>();
+        this.drainScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Stores a payload as the latest state for its key.
+     *
+     * @return true if an undelivered payload with the same key was replaced
+     */
+    boolean offer(@NotNull Map<String, Object> payload) {
+        Object key = payload.get(keyField);
+        synchronized (pending) {
+            return pending.put(key != null ? key : NO_KEY, payload) != null;
+        }
+    }
+
+    /**
+     * Claims the drain for the caller; only one drain runs at a time.
+     *
+     * @return true if the caller must schedule {@link #drain}
+     */
+    boolean tryScheduleDrain() {
+        return drainScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases a drain claim whose drain will not run, e.g. because dispatch rejected it.
+     * Pending payloads stay and are delivered by the drain the next offer schedules.
+     */
+    void releaseDrain() {
+        drainScheduled.set(false);
+    }
+
+    /**
+     * Wraps {@link #drain} in a task that releases the drain claim if a dispatcher drops it
+     * instead of running it.
+     */
+    @NotNull
+    ShardedDispatcher.DropAware drainTask(@NotNull Consumer<Map<String, Object>> listener) {
+        return new ShardedDispatcher.DropAware() {
+            @Override
+            public void run() {
+                drain(listener);
+            }
+
+            @Override
+            public void dropped() {
+                releaseDrain();
+            }
+        };
+    }
+
+    /**
+     * Delivers pending payloads until the mailbox is empty, then releases the drain claim.
+     */
+    void drain(@NotNull Consumer<Map<String, Object>> listener) {
+        while (true) {
+            Map<String, Object> next = poll();
+            if (next == null) {
+                drainScheduled.set(false);
+                // A payload may have arrived after the last poll but before the claim was released
+                if (isEmpty() || !tryScheduleDrain()) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                // Release the claim so the next offer schedules a fresh drain
+                drainScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private Map<String, Object> poll() {
+        synchronized (pending) {
+            Iterator<Map<String, Object>> iterator = pending.values().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Map<String, Object> next = iterator.next();
+            iterator.remove();
+            return next;
+        }
+    }
+
+    private boolean isEmpty() {
+        synchronized (pending) {
+            return pending.isEmpty();
+        }
+    }
+}
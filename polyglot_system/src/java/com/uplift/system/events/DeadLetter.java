@@ -0,0 +1,85 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A delivery that kept failing after its retries, as held by a {@link DeadLetterQueue}.
+ * It records the event and the subscriber it was meant for, so it can be replayed to that
+ * subscriber once the cause of the failure is fixed.
+ */
+public final class DeadLetter {
+    private final String eventType;
+    private final Map<String, Object> payload;
+    private final Subscription subscription;
+    private final int attempts;
+    private final Throwable failure;
+    private final Instant failedAt;
+
+    DeadLetter(
+            @NotNull String eventType,
+            @NotNull Map<String, Object> payload,
+            @NotNull Subscription subscription,
+            int attempts,
+            @NotNull Throwable failure) {
+        this.eventType = eventType;
+        this.payload = payload;
+        this.subscription = subscription;
+        this.attempts = attempts;
+        this.failure = failure;
+        this.failedAt = Instant.now();
+    }
+
+    @NotNull
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * The payload as delivered to the subscriber, in its domain. The map is unmodifiable.
+     */
+    @NotNull
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    /**
+     * The listener the delivery failed in.
+     */
+    @NotNull
+    public Consumer<Map<String, Object>> getListener() {
+        return subscription.getListener();
+    }
+
+    /**
+     * How many times delivery was attempted, including the first.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * The exception thrown by the last attempt.
+     */
+    @NotNull
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @NotNull
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    @NotNull
+    Subscription getSubscription() {
+        return subscription;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetter{eventType=" + eventType + ", attempts=" + attempts + ", failure=" + failure + "}";
+    }
+}
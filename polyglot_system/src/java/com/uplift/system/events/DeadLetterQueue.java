@@ -0,0 +1,92 @@
+package com.uplift.system.events;
+
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Bounded queue of {@link DeadLetter}s, oldest first. When it is full, adding a letter evicts
+ * the oldest one, so a subscriber that fails every delivery costs a fixed amount of memory.
+ * Letters are replayed through {@link DomainAwareEventBus#replayDeadLetters}.
+ */
+public final class DeadLetterQueue {
+    private final ArrayDeque<DeadLetter> letters;
+    private final int capacity;
+    private final Counter added;
+    private final Counter evicted;
+
+    DeadLetterQueue(int capacity, @NotNull Counter added, @NotNull Counter evicted) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Dead-letter capacity must be positive");
+        }
+        this.letters = new ArrayDeque<>(Math.min(capacity, 1024));
+        this.capacity = capacity;
+        this.added = added;
+        this.evicted = evicted;
+    }
+
+    void add(@NotNull DeadLetter letter) {
+        synchronized (letters) {
+            if (letters.size() >= capacity) {
+                letters.pollFirst();
+                evicted.increment();
+            }
+            letters.addLast(letter);
+        }
+        added.increment();
+    }
+
+    /**
+     * Removes and returns the letters the filter accepts, oldest first.
+     */
+    @NotNull
+    List<DeadLetter> removeIf(@NotNull Predicate<DeadLetter> filter) {
+        List<DeadLetter> removed = new ArrayList<>();
+        synchronized (letters) {
+            Iterator<DeadLetter> iterator = letters.iterator();
+            while (iterator.hasNext()) {
+                DeadLetter letter = iterator.next();
+                if (filter.test(letter)) {
+                    iterator.remove();
+                    removed.add(letter);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns a copy of the queued letters, oldest first.
+     */
+    @NotNull
+    public List<DeadLetter> snapshot() {
+        synchronized (letters) {
+            return new ArrayList<>(letters);
+        }
+    }
+
+    /**
+     * Discards the letters the filter accepts.
+     *
+     * @return The number of letters discarded
+     */
+    public int discard(@NotNull Predicate<DeadLetter> filter) {
+        Objects.requireNonNull(filter, "Filter must not be null");
+        return removeIf(filter).size();
+    }
+
+    public int size() {
+        synchronized (letters) {
+            return letters.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
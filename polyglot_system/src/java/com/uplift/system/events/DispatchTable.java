@@ -0,0 +1,110 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, precomputed dispatch order for one event type.
+ * Subscriptions are kept in a plain array sorted by priority so the publish path is a
+ * straight array walk; registration changes build a new table.
+ */
+final class DispatchTable {
+    static final DispatchTable EMPTY = new DispatchTable(new Subscription[0]);
+
+    private final Subscription[] subscriptions;
+    private final boolean deferring;
+
+    private DispatchTable(Subscription[] subscriptions) {
+        this.subscriptions = subscriptions;
+        boolean deferring = false;
+        for (Subscription subscription : subscriptions) {
+            deferring |= subscription.getExecutionMode() != DomainAwareEventBus.ExecutionMode.INLINE
+                || subscription.retainsPayloads();
+        }
+        this.deferring = deferring;
+    }
+
+    /**
+     * Subscriptions in dispatch order. Callers must not modify the returned array.
+     */
+    Subscription[] subscriptions() {
+        return subscriptions;
+    }
+
+    boolean isEmpty() {
+        return subscriptions.length == 0;
+    }
+
+    int size() {
+        return subscriptions.length;
+    }
+
+    /**
+     * Whether some subscription may still use a payload after the delivering call returns:
+     * it runs on another thread, is quarantined onto the quarantine lane, or keeps payloads.
+     */
+    boolean defersDelivery() {
+        if (deferring) {
+            return true;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isQuarantined()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a table that also contains the given subscription at its priority position.
+     */
+    @NotNull
+    DispatchTable with(@NotNull Subscription subscription) {
+        int position = subscriptions.length;
+        while (position > 0 && subscription.dispatchesBefore(subscriptions[position - 1])) {
+            position--;
+        }
+        Subscription[] updated = new Subscription[subscriptions.length + 1];
+        System.arraycopy(subscriptions, 0, updated, 0, position);
+        updated[position] = subscription;
+        System.arraycopy(subscriptions, position, updated, position + 1, subscriptions.length - position);
+        return new DispatchTable(updated);
+    }
+
+    /**
+     * Returns a table that also contains the given subscriptions, all in priority order.
+     */
+    @NotNull
+    DispatchTable withAll(@NotNull Collection<Subscription> added) {
+        if (added.isEmpty()) {
+            return this;
+        }
+        Subscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + added.size());
+        int next = subscriptions.length;
+        for (Subscription subscription : added) {
+            updated[next++] = subscription;
+        }
+        Arrays.sort(updated, (a, b) -> a == b ? 0 : a.dispatchesBefore(b) ? -1 : 1);
+        return new DispatchTable(updated);
+    }
+
+    /**
+     * Returns a table without the first subscription registered for the given listener,
+     * or this table if the listener is not subscribed.
+     */
+    @NotNull
+    DispatchTable without(@NotNull Consumer<Map<String, Object>> listener) {
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i].getListener().equals(listener)) {
+                Subscription[] updated = new Subscription[subscriptions.length - 1];
+                System.arraycopy(subscriptions, 0, updated, 0, i);
+                System.arraycopy(subscriptions, i + 1, updated, i, subscriptions.length - i - 1);
+                return new DispatchTable(updated);
+            }
+        }
+        return this;
+    }
+}
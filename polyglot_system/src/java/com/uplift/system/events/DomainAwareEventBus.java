@@ -1,18 +1,152 @@
 package com.uplift.system.events;
 
 import com.uplift.system.config.SystemConfig;
+import com.uplift.system.codec.PayloadCodec;
+import com.uplift.system.journal.EventJournal;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Domain-aware implementation of the EventBus interface that supports event routing
  * and transformation between different cognitive, computational, and representational domains.
+ *
+ * <p>In {@link DispatchMode#SYNC} mode (the default) subscribers run on the publisher's thread.
+ * In {@link DispatchMode#ASYNC} mode deliveries are queued on bounded shards drained by
+ * {@code eventBus.workerThreads} workers; events are sharded by event type, so events of one
+ * type are delivered in publish order. In {@link DispatchMode#PRIORITY} mode events are queued
+ * on one lane per domain and delivered by a {@link PriorityLaneScheduler} that shares its
+ * thread between lanes by the {@code eventBus.laneWeight} domain setting, so latency-sensitive
+ * cognitive events overtake computational bulk traffic without starving it.
+ *
+ * <p>Each event type is resolved once to a {@link Route}: its domain (registered through
+ * {@link #registerEventDomain}, else taken from a type prefix such as "cognitive.", else
+ * computational) and its dispatch table. A payload with an explicit "domain" entry overrides
+ * the route's domain.
+ *
+ * <p>Subscriptions may use wildcard segments: "*" matches one segment of the event type and
+ * "#" matches zero or more, e.g. "cognitive.*" or "*.update.#". Patterns live in a
+ * {@link TopicTrie}; the first publish of a concrete type merges its exact and matching
+ * wildcard subscriptions into its route, which is cached (up to {@code eventBus.routeCacheSize}
+ * types) so later publishes cost one map lookup. Types without subscribers or taps share an
+ * empty route and are cached separately, so they cannot evict routed types. Subscription and
+ * registration changes invalidate only the cached routes they affect.
+ *
+ * <p>Subscriptions may carry {@link PayloadPredicate} filters. Each route indexes the filters of
+ * its subscribers in a {@link FilterIndex}, which a publish evaluates once; subscribers whose
+ * filters reject the event are skipped before any transformation is done for them.
+ *
+ * <p>With {@code journal.enabled}, or when constructed with an {@link EventJournal}, every
+ * published event is appended to the journal before it is delivered, and
+ * {@link #replayJournal} re-delivers journaled events to the current subscribers, e.g. to
+ * rebuild adapter state after a restart.
+ *
+ * <p>A {@link #tap} sees every published event whose type matches its pattern, with the event
+ * type and the payload as published, on the publishing thread. Taps are resolved into the
+ * cached route like subscriptions; bridges to other processes use them to forward events, and
+ * hand events from their peers to {@link #receive}, which delivers without calling taps.
+ *
+ * <p>{@link #request} publishes an event carrying a bus-assigned {@value #CORRELATION_ID} and
+ * parks a future under that ID; {@link #reply} completes the future directly, without routing
+ * the reply through subscribers. Request timeouts share one {@link TimerWheel} thread, ticking
+ * every {@code eventBus.timerTick}, rather than scheduling a task per request.
+ *
+ * <p>A subscriber that throws only fails its own delivery. With {@code eventBus.retryStrategy}
+ * "exponential_backoff" the delivery is retried up to {@code eventBus.maxRetries} times, each
+ * after a jittered delay that doubles from {@code eventBus.retryBaseDelay} up to
+ * {@code eventBus.retryMaxDelay}. Retries wait on the {@link TimerWheel} and then run like
+ * first deliveries, on the subscriber's lane or a capped virtual thread (inline subscribers
+ * included), so neither the publisher nor other subscribers wait for them. The timer thread
+ * only hands a retry off if there is room for it at once; a retry that finds its lane or the
+ * virtual-thread cap full uses up its attempt and is rescheduled, counted as
+ * {@code delivery.retryRejected}. A delivery that still fails, or that would exceed
+ * {@code eventBus.maxPendingRetries}, goes to the bounded {@link DeadLetterQueue}, from which
+ * {@link #replayDeadLetters} re-delivers it.
+ *
+ * <p>Every inline or async subscriber invocation is timed into a moving average kept on its
+ * {@link Subscription}. A subscriber whose average exceeds
+ * {@code eventBus.subscriberLatencyBudget} is quarantined: its deliveries move to a quarantine
+ * lane sharded by subscription over {@code eventBus.quarantineThreads} threads, whose queues
+ * drop their oldest delivery when full ({@code eventBus.quarantineOverflowPolicy}), so it can
+ * no longer hold up the publisher, share a worker with healthy subscribers or, unless they
+ * hash to the same shard, hold up other quarantined subscribers. Once its average falls
+ * below half the budget it returns to its own execution mode. Both moves are counted and
+ * announced as {@value #SUBSCRIBER_QUARANTINED} and {@value #SUBSCRIBER_RELEASED} events.
+ * Deliveries queued on either side of a move may overtake each other.
+ *
+ * <p>{@link #asPublisher} exposes the events of a type as a {@link Flow.Publisher} whose
+ * subscribers receive payloads as they request them, in batches, and {@link #asSubscriber}
+ * returns a {@link Flow.Subscriber} that publishes what it receives, so bus traffic can be
+ * composed with reactive pipelines under backpressure.
+ *
+ * <p>Subscribers declare their target domain, priority and {@link ExecutionMode} through
+ * {@link SubscriptionOptions}. Each event type keeps a precomputed {@link DispatchTable} in
+ * priority order. Each publish computes at most one payload per target domain and hands every
+ * subscriber in that domain the same unmodifiable view, so subscribers that need to keep or
+ * change a payload must copy it. Transformers are registered per (source, target) domain pair
+ * and fused into one {@link TransformChain} per pair, which gives transformers not declared
+ * pure a copy of the payload; pairs without transformers deliver a view of the payload
+ * without copying it. A publish whose route has a subscriber that does not run inline first
+ * takes one snapshot of the payload, so no delivery sees changes the publisher makes after
+ * {@code publish} returns.
+ *
+ * <p>{@code eventBus.executionMode} sets the execution mode of subscribers registered without
+ * options. Virtual-thread deliveries are capped at {@code performance.maxConcurrentOperations}
+ * in flight; once the cap is reached, the delivering thread waits for a permit.
+ *
+ * <p>A conflating subscription ({@link SubscriptionOptions.Builder#conflateBy}) keeps only the
+ * newest undelivered payload per key, which suits "latest state" events such as
+ * cognitive_state or awareness snapshots feeding dashboards.
+ *
+ * <p>Latencies of publish calls, domain transformations and individual subscriber deliveries
+ * are recorded in striped {@link LatencyHistogram}s and reported by {@link #getMetrics()} as
+ * {@code latency.<path>.p50/p90/p99/p999/max} in nanoseconds. With
+ * {@code eventBus.latencyMode} set to "interval", each {@code getMetrics()} call reports the
+ * latencies recorded since the previous call.
  */
-public class DomainAwareEventBus implements EventBus {
+public class DomainAwareEventBus implements RequestReplyBus {
+
+    /**
+     * Payload entry holding the correlation ID of a request
+     */
+    public static final String CORRELATION_ID = "correlationId";
+
+    /**
+     * Event type with which transport peers answer requests; see {@link #receive}
+     */
+    public static final String REPLY_EVENT_TYPE = "bus.reply";
+
+    /**
+     * Event published when a slow subscriber is moved to the quarantine lane
+     */
+    public static final String SUBSCRIBER_QUARANTINED = "bus.subscriber.quarantined";
+
+    /**
+     * Event published when a quarantined subscriber has recovered
+     */
+    public static final String SUBSCRIBER_RELEASED = "bus.subscriber.released";
     
     /**
      * Represents the different domains that events can be processed in
@@ -23,48 +157,226 @@ public class DomainAwareEventBus implements EventBus {
         REPRESENTATIONAL
     }
 
+    /**
+     * Controls which thread delivers events to subscribers
+     */
+    public enum DispatchMode {
+        /** Subscribers run on the publishing thread */
+        SYNC,
+        /** Subscribers run on sharded worker threads; publish only enqueues */
+        ASYNC,
+        /** Subscribers run on a scheduler thread serving per-domain lanes by weight; publish only enqueues */
+        PRIORITY
+    }
+
+    /**
+     * Decides what happens to a delivery when its queue, or the virtual-thread in-flight cap,
+     * is full
+     */
+    public enum OverflowPolicy {
+        /** Wait up to {@code eventBus.overflowTimeout} for space, then drop the delivery */
+        BLOCK,
+        /** Drop the delivery that did not fit */
+        DROP_NEWEST,
+        /** Evict the oldest queued delivery to make room */
+        DROP_OLDEST,
+        /** Run the delivery on the publishing thread */
+        CALLER_RUNS,
+        /** Replace a queued delivery whose payload has the same {@code eventBus.conflationKey} value */
+        CONFLATE
+    }
+
+    /**
+     * Controls which thread invokes an individual subscriber
+     */
+    public enum ExecutionMode {
+        /** Invoked on the thread delivering the event */
+        INLINE,
+        /** Invoked on a subscriber worker lane; each subscriber keeps its own delivery order */
+        ASYNC,
+        /** Invoked on a new virtual thread per delivery, suited to blocking subscribers */
+        VIRTUAL_THREAD
+    }
+
+    private static final Logger LOG = Logger.getLogger(DomainAwareEventBus.class.getName());
+    private static final Domain[] DOMAINS = Domain.values();
+
     private final SystemConfig config;
-    private final Map<String, List<Consumer<Map<String, Object>>>> subscribers;
+    private final Map<String, Route> routes;
+    private final Map<String, Route> unroutedTypes;
+    private final Map<String, DispatchTable> exactSubscriptions;
+    private final TopicTrie patternSubscriptions;
+    private final List<Tap> taps;
+    private final Object routeLock;
+    private final int routeCacheSize;
     private final Map<String, Domain> eventDomains;
-    private final Map<String, AtomicLong> metrics;
-    private final Map<Domain, List<DomainTransformer>> domainTransformers;
+    private final CounterRegistry metrics;
+    private final Counter totalEvents;
+    private final Counter domainTransformations;
+    private final Counter activeSubscribers;
+    private final Counter conflationReplaced;
+    private final Counter filteredDeliveries;
+    private final Counter virtualThreadDeliveries;
+    private final Counter virtualThreadPermitWaits;
+    private final Counter[] domainEvents;
+    private volatile TransformChain[] transformChains;
+    private final DispatchMode dispatchMode;
+    private final ShardedDispatcher dispatcher;
+    private final PriorityLaneScheduler laneScheduler;
+    private final AtomicLong subscriptionSequence;
+    private volatile ShardedDispatcher subscriberLanes;
+    private volatile ExecutorService virtualThreadExecutor;
+    private final int virtualThreadLimit;
+    private final Semaphore virtualThreadPermits;
+    private final SubscriptionOptions defaultOptions;
+    private final OverflowPolicy overflowPolicy;
+    private final long overflowTimeoutNanos;
+    private final String conflationKey;
+    private final OverflowCounters overflowCounters;
+    private final LatencyHistogram publishLatency;
+    private final LatencyHistogram transformLatency;
+    private final LatencyHistogram deliveryLatency;
+    private final boolean resetLatencyOnRead;
+    private final EventJournal journal;
+    private final Counter journalReplayed;
+    private final Map<Long, CompletableFuture<Map<String, Object>>> pendingRequests;
+    private final AtomicLong correlationSequence;
+    private final Counter requestsSent;
+    private final Counter requestsReplied;
+    private final Counter requestsTimedOut;
+    private final Counter lateReplies;
+    private volatile TimerWheel timer;
+    private final int maxRetries;
+    private final long retryBaseDelayNanos;
+    private final long retryMaxDelayNanos;
+    private final int maxPendingRetries;
+    private final AtomicInteger pendingRetries;
+    private final DeadLetterQueue deadLetters;
+    private final Counter deliveryFailures;
+    private final Counter deliveryRetries;
+    private final Counter retriesRejected;
+    private final Counter deadLettersReplayed;
+    private final long latencyBudgetNanos;
+    private final Counter quarantinesEntered;
+    private final Counter quarantinesReleased;
+    private final Counter quarantinedSubscribers;
+    private volatile ShardedDispatcher quarantineLane;
+    private final int flowBufferSize;
+    private final Counter flowDropped;
 
     /**
-     * Constructs a new DomainAwareEventBus with the specified configuration.
+     * Constructs a new DomainAwareEventBus with the specified configuration. If
+     * {@code journal.enabled} is set, the bus opens and owns the journal in
+     * {@code journal.directory}.
      *
      * @param config The system configuration
      * @throws IllegalArgumentException if config is null
+     * @throws UncheckedIOException if the journal is enabled but cannot be opened
      */
     public DomainAwareEventBus(@NotNull SystemConfig config) {
-        this.config = Objects.requireNonNull(config, "Config must not be null");
-        this.subscribers = new ConcurrentHashMap<>();
-        this.eventDomains = new ConcurrentHashMap<>();
-        this.metrics = new ConcurrentHashMap<>();
-        this.domainTransformers = new ConcurrentHashMap<>();
-        initializeMetrics();
-        initializeDomainTransformers();
+        this(config, openJournalIfEnabled(config));
     }
 
-    private void initializeMetrics() {
-        metrics.put("totalEvents", new AtomicLong(0));
-        metrics.put("domainTransformations", new AtomicLong(0));
-        metrics.put("activeSubscribers", new AtomicLong(0));
-        metrics.put("eventLatency", new AtomicLong(0));
-        
-        // Domain-specific metrics
-        for (Domain domain : Domain.values()) {
-            metrics.put("events." + domain.name().toLowerCase(), new AtomicLong(0));
+    /**
+     * Constructs a new DomainAwareEventBus that journals every published event. The bus
+     * closes the journal when it is shut down.
+     *
+     * @param config The system configuration
+     * @param journal The journal to append events to, or null to disable journaling
+     * @throws IllegalArgumentException if config is null
+     */
+    public DomainAwareEventBus(@NotNull SystemConfig config, @Nullable EventJournal journal) {
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.journal = journal;
+        this.routes = new ConcurrentHashMap<>();
+        this.unroutedTypes = new ConcurrentHashMap<>();
+        this.exactSubscriptions = new HashMap<>();
+        this.patternSubscriptions = new TopicTrie();
+        this.taps = new ArrayList<>();
+        this.routeLock = new Object();
+        this.routeCacheSize = config.getIntValue("eventBus.routeCacheSize", 10000);
+        this.eventDomains = new ConcurrentHashMap<>();
+        this.metrics = new CounterRegistry();
+        this.totalEvents = metrics.counter("totalEvents");
+        this.domainTransformations = metrics.counter("domainTransformations");
+        this.activeSubscribers = metrics.counter("activeSubscribers");
+        this.conflationReplaced = metrics.counter("conflation.replaced");
+        this.filteredDeliveries = metrics.counter("filter.skipped");
+        this.journalReplayed = metrics.counter("journal.replayed");
+        this.requestsSent = metrics.counter("request.sent");
+        this.requestsReplied = metrics.counter("request.replied");
+        this.requestsTimedOut = metrics.counter("request.timedOut");
+        this.lateReplies = metrics.counter("request.lateReplies");
+        this.deliveryFailures = metrics.counter("delivery.failed");
+        this.deliveryRetries = metrics.counter("delivery.retried");
+        this.retriesRejected = metrics.counter("delivery.retryRejected");
+        this.deadLettersReplayed = metrics.counter("deadLetter.replayed");
+        this.deadLetters = new DeadLetterQueue(
+            config.getIntValue("eventBus.deadLetterCapacity", 1000),
+            metrics.counter("deadLetter.added"),
+            metrics.counter("deadLetter.evicted"));
+        boolean retrying = "exponential_backoff".equalsIgnoreCase(
+            config.getSetting("eventBus.retryStrategy", "exponential_backoff").toString());
+        this.maxRetries = retrying ? config.getIntValue("eventBus.maxRetries", 3) : 0;
+        this.retryBaseDelayNanos = config.getDurationValue("eventBus.retryBaseDelay", Duration.ofMillis(100)).toNanos();
+        this.retryMaxDelayNanos = config.getDurationValue("eventBus.retryMaxDelay", Duration.ofSeconds(10)).toNanos();
+        this.maxPendingRetries = config.getIntValue("eventBus.maxPendingRetries", 10000);
+        this.pendingRetries = new AtomicInteger();
+        this.latencyBudgetNanos = config.getDurationValue(
+            "eventBus.subscriberLatencyBudget", Duration.ofMillis(10)).toNanos();
+        this.quarantinesEntered = metrics.counter("quarantine.entered");
+        this.quarantinesReleased = metrics.counter("quarantine.released");
+        this.quarantinedSubscribers = metrics.counter("quarantine.active");
+        this.flowBufferSize = config.getIntValue("eventBus.flowBufferSize", Flow.defaultBufferSize());
+        this.flowDropped = metrics.counter("flow.dropped");
+        this.pendingRequests = new ConcurrentHashMap<>();
+        this.correlationSequence = new AtomicLong();
+        this.virtualThreadDeliveries = metrics.counter("virtualThread.deliveries");
+        this.virtualThreadPermitWaits = metrics.counter("virtualThread.permitWaits");
+        this.domainEvents = new Counter[DOMAINS.length];
+        for (Domain domain : DOMAINS) {
+            domainEvents[domain.ordinal()] = metrics.counter("events." + domain.name().toLowerCase());
         }
+        this.transformChains = new TransformChain[DOMAINS.length * DOMAINS.length];
+        this.dispatchMode = DispatchMode.valueOf(
+            config.getSetting("eventBus.dispatchMode", "sync").toString().toUpperCase());
+        this.overflowPolicy = OverflowPolicy.valueOf(
+            config.getSetting("eventBus.overflowPolicy", "block").toString().toUpperCase());
+        this.overflowTimeoutNanos = config.getDurationValue("eventBus.overflowTimeout", Duration.ofSeconds(5)).toNanos();
+        this.conflationKey = config.getSetting("eventBus.conflationKey", "key").toString();
+        this.overflowCounters = new OverflowCounters(metrics);
+        this.publishLatency = new LatencyHistogram();
+        this.transformLatency = new LatencyHistogram();
+        this.deliveryLatency = new LatencyHistogram();
+        this.resetLatencyOnRead = "interval".equalsIgnoreCase(
+            config.getSetting("eventBus.latencyMode", "cumulative").toString());
+        this.dispatcher = dispatchMode == DispatchMode.ASYNC ? newDispatcher("event-bus-shard") : null;
+        this.laneScheduler = dispatchMode == DispatchMode.PRIORITY ? newLaneScheduler() : null;
+        this.subscriptionSequence = new AtomicLong();
+        this.virtualThreadLimit = config.getIntValue("performance.maxConcurrentOperations", 100);
+        this.virtualThreadPermits = new Semaphore(virtualThreadLimit);
+        ExecutionMode defaultMode = ExecutionMode.valueOf(
+            config.getSetting("eventBus.executionMode", "inline").toString().toUpperCase());
+        this.defaultOptions = defaultMode == ExecutionMode.INLINE
+            ? SubscriptionOptions.defaults()
+            : new SubscriptionOptions.Builder().executionMode(defaultMode).build();
     }
 
-    private void initializeDomainTransformers() {
-        for (Domain domain : Domain.values()) {
-            domainTransformers.put(domain, new CopyOnWriteArrayList<>());
+    private static EventJournal openJournalIfEnabled(SystemConfig config) {
+        Objects.requireNonNull(config, "Config must not be null");
+        if (!config.isEnabled("journal")) {
+            return null;
+        }
+        try {
+            return EventJournal.open(config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event journal", e);
         }
     }
 
     /**
-     * Registers a domain transformer for a specific domain.
+     * Registers a domain transformer for payloads delivered into a domain from any other
+     * domain. The transformer is appended to the chain of every such domain pair.
      *
      * @param domain The domain to register the transformer for
      * @param transformer The transformer to register
@@ -72,32 +384,754 @@ public class DomainAwareEventBus implements EventBus {
     public void registerDomainTransformer(@NotNull Domain domain, @NotNull DomainTransformer transformer) {
         Objects.requireNonNull(domain, "Domain must not be null");
         Objects.requireNonNull(transformer, "Transformer must not be null");
-        domainTransformers.get(domain).add(transformer);
+        synchronized (routeLock) {
+            TransformChain[] updated = transformChains.clone();
+            for (Domain source : DOMAINS) {
+                if (source != domain) {
+                    append(updated, source, domain, transformer);
+                }
+            }
+            transformChains = updated;
+        }
     }
 
+    /**
+     * Registers a domain transformer for payloads delivered from one domain into another.
+     * Transformers of a domain pair run in registration order, fused into one chain when
+     * they are registered.
+     *
+     * @param sourceDomain The domain of the events to transform
+     * @param targetDomain The domain of the subscribers to transform them for
+     * @param transformer The transformer to register
+     * @throws IllegalArgumentException if the domains are the same, since payloads are not
+     *         transformed within a domain
+     */
+    public void registerDomainTransformer(
+            @NotNull Domain sourceDomain,
+            @NotNull Domain targetDomain,
+            @NotNull DomainTransformer transformer) {
+        Objects.requireNonNull(sourceDomain, "Source domain must not be null");
+        Objects.requireNonNull(targetDomain, "Target domain must not be null");
+        Objects.requireNonNull(transformer, "Transformer must not be null");
+        if (sourceDomain == targetDomain) {
+            throw new IllegalArgumentException("Payloads are not transformed within a domain");
+        }
+        synchronized (routeLock) {
+            TransformChain[] updated = transformChains.clone();
+            append(updated, sourceDomain, targetDomain, transformer);
+            transformChains = updated;
+        }
+    }
+
+    private static void append(TransformChain[] chains, Domain source, Domain target, DomainTransformer transformer) {
+        int pair = source.ordinal() * DOMAINS.length + target.ordinal();
+        chains[pair] = chains[pair] == null ? TransformChain.of(transformer) : chains[pair].with(transformer);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>With a journal, the payload must hold only values {@link PayloadCodec} can encode:
+     * null, booleans, numbers, strings, byte arrays, enums, and lists and string-keyed maps of
+     * these. Other values make the publish fail before anything is journaled or delivered.
+     *
+     * @throws IllegalArgumentException if the bus has a journal and the payload cannot be
+     *         journaled
+     */
     @Override
     public void publish(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        publish(eventType, payload, true);
+    }
+
+    /**
+     * Publishes an event that originated outside this bus, such as one received from a
+     * transport peer. It is journaled and delivered like any published event, but not passed
+     * to taps, so a bridge does not send its peer's events back. A {@value #REPLY_EVENT_TYPE}
+     * event with a {@value #CORRELATION_ID} is a peer's reply to a request and completes the
+     * request instead.
+     *
+     * @param eventType The type of event
+     * @param payload The event payload
+     */
+    public void receive(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        if (REPLY_EVENT_TYPE.equals(eventType) && payload.get(CORRELATION_ID) instanceof Number) {
+            completeRequest(((Number) payload.get(CORRELATION_ID)).longValue(), payload);
+            return;
+        }
+        publish(eventType, payload, false);
+    }
+
+    /**
+     * Publishes a copy of the payload with a new {@value #CORRELATION_ID} and returns a future
+     * for the reply. Subscribers answer through {@link #reply}; the first reply wins. If no
+     * reply arrives in time the future fails with a {@link TimeoutException}, up to
+     * {@code eventBus.timerTick} late. A request type without subscribers or taps fails at
+     * once, and an exception thrown while publishing fails the future. Cancelling the future
+     * abandons the request. Dependent stages that are not async run on the replying thread
+     * or the timer thread.
+     *
+     * @param eventType The type of the request event
+     * @param payload Request data
+     * @param timeout How long to wait for the reply
+     * @return A future completed with the reply
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    @Override
+    @NotNull
+    public CompletableFuture<Map<String, Object>> request(
+            @NotNull String eventType,
+            @NotNull Map<String, Object> payload,
+            @NotNull Duration timeout) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payload, "Payload must not be null");
+        Objects.requireNonNull(timeout, "Timeout must not be null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        Route route = routeFor(eventType);
+        if (route.table.isEmpty() && route.taps.isEmpty()) {
+            future.completeExceptionally(new IllegalStateException("No subscriber for request type " + eventType));
+            return future;
+        }
+        long correlationId = correlationSequence.incrementAndGet();
+        Map<String, Object> message = new HashMap<>(payload);
+        message.put(CORRELATION_ID, correlationId);
+
+        // Register before publishing, since a synchronous subscriber may reply inside publish
+        pendingRequests.put(correlationId, future);
+        TimerWheel.Timeout expiry;
+        try {
+            expiry = timer().schedule(timeout.toNanos(), () -> {
+                CompletableFuture<Map<String, Object>> expired = pendingRequests.remove(correlationId);
+                if (expired != null) {
+                    requestsTimedOut.increment();
+                    expired.completeExceptionally(new TimeoutException(
+                        "No reply to " + eventType + " within " + timeout.toMillis() + " ms"));
+                }
+            });
+        } catch (IllegalStateException e) {
+            pendingRequests.remove(correlationId);
+            throw e;
+        }
+        future.whenComplete((reply, failure) -> {
+            // Covers replies, timeouts and cancellation by the caller alike
+            pendingRequests.remove(correlationId);
+            expiry.cancel();
+        });
+        requestsSent.increment();
+        try {
+            publish(eventType, message, true);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Completes the request the payload was delivered for with the reply, on the calling
+     * thread. The requester receives the reply map itself, so the caller must not change it
+     * afterwards.
+     *
+     * @param request The request payload, carrying its {@value #CORRELATION_ID}
+     * @param reply Reply data
+     * @return false if the request has already timed out, been answered or been cancelled
+     * @throws IllegalArgumentException if the payload carries no correlation ID
+     */
+    @Override
+    public boolean reply(@NotNull Map<String, Object> request, @NotNull Map<String, Object> reply) {
+        Objects.requireNonNull(request, "Request must not be null");
+        Objects.requireNonNull(reply, "Reply must not be null");
+        Object correlationId = request.get(CORRELATION_ID);
+        if (!(correlationId instanceof Number)) {
+            throw new IllegalArgumentException("Request payload carries no " + CORRELATION_ID);
+        }
+        return completeRequest(((Number) correlationId).longValue(), reply);
+    }
+
+    private boolean completeRequest(long correlationId, @NotNull Map<String, Object> reply) {
+        CompletableFuture<Map<String, Object>> future = pendingRequests.remove(correlationId);
+        if (future == null) {
+            lateReplies.increment();
+            return false;
+        }
+        requestsReplied.increment();
+        return future.complete(reply);
+    }
+
+    /**
+     * Returns the timer wheel, starting it on first use so buses that never send requests
+     * don't run a timer thread.
+     */
+    private TimerWheel timer() {
+        TimerWheel current = timer;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (timer == null) {
+                timer = new TimerWheel(
+                    "event-bus-timer",
+                    config.getDurationValue("eventBus.timerTick", Duration.ofMillis(10)).toNanos(),
+                    config.getIntValue("eventBus.timerWheelSize", 512));
+            }
+            return timer;
+        }
+    }
+
+    private void publish(@NotNull String eventType, @NotNull Map<String, Object> payload, boolean tapped) {
         Objects.requireNonNull(eventType, "Event type must not be null");
         Objects.requireNonNull(payload, "Payload must not be null");
         
         long startTime = System.nanoTime();
-        metrics.get("totalEvents").incrementAndGet();
+        if (journal != null) {
+            journal.append(eventType, payload);
+        }
+        totalEvents.increment();
 
         // Determine event domain
-        Domain eventDomain = determineEventDomain(eventType, payload);
-        metrics.get("events." + eventDomain.name().toLowerCase()).incrementAndGet();
+        Route route = routeFor(eventType);
+        if (tapped) {
+            for (BiConsumer<String, Map<String, Object>> tap : route.taps) {
+                tap.accept(eventType, payload);
+            }
+        }
+        Domain explicitDomain = domainFromPayload(payload);
+        Domain eventDomain = explicitDomain != null ? explicitDomain : route.domain;
+        domainEvents[eventDomain.ordinal()].increment();
+
+        if (dispatcher != null) {
+            // Snapshot the payload so later changes by the publisher can't leak into delivery
+            Map<String, Object> snapshot = new HashMap<>(payload);
+            dispatcher.dispatch(eventType, conflationKeyFor(eventType, snapshot),
+                () -> deliver(eventType, route, eventDomain, snapshot, true));
+        } else if (laneScheduler != null) {
+            Map<String, Object> snapshot = new HashMap<>(payload);
+            laneScheduler.dispatch(eventDomain, () -> deliver(eventType, route, eventDomain, snapshot, true));
+        } else if (route.table.defersDelivery()) {
+            // Subscribers that run after publish returns get one snapshot shared between them
+            deliver(eventType, route, eventDomain, new HashMap<>(payload), true);
+        } else {
+            deliver(eventType, route, eventDomain, payload, false);
+        }
+
+        publishLatency.record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Publishes a batch of events of one type. The type is classified once for the whole
+     * batch, counters are updated once, and each subscriber receives the batch in order
+     * before the next subscriber is called. With a journal, the whole batch is encoded
+     * before any of it is journaled, so a payload that cannot be journaled fails the batch
+     * as a whole; see {@link #publish(String, Map)} for the supported value types.
+     *
+     * @throws IllegalArgumentException if the bus has a journal and a payload cannot be
+     *         journaled
+     */
+    @Override
+    public void publishAll(@NotNull String eventType, @NotNull List<Map<String, Object>> payloads) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payloads, "Payloads must not be null");
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int batchSize = payloads.size();
+        for (Map<String, Object> payload : payloads) {
+            Objects.requireNonNull(payload, "Payload must not be null");
+        }
+        if (journal != null) {
+            journal.appendAll(eventType, payloads);
+        }
+        totalEvents.add(batchSize);
+
+        // Route the type once; only payloads that name their own domain need a lookup
+        Route route = routeFor(eventType);
+        Domain[] eventDomains = new Domain[batchSize];
+        long[] domainCounts = new long[DOMAINS.length];
+        for (int i = 0; i < batchSize; i++) {
+            Map<String, Object> payload = payloads.get(i);
+            for (BiConsumer<String, Map<String, Object>> tap : route.taps) {
+                tap.accept(eventType, payload);
+            }
+            Domain eventDomain = domainFromPayload(payload);
+            if (eventDomain == null) {
+                eventDomain = route.domain;
+            }
+            eventDomains[i] = eventDomain;
+            domainCounts[eventDomain.ordinal()]++;
+        }
+        for (Domain domain : DOMAINS) {
+            if (domainCounts[domain.ordinal()] > 0) {
+                domainEvents[domain.ordinal()].add(domainCounts[domain.ordinal()]);
+            }
+        }
+
+        if (dispatcher != null) {
+            List<Map<String, Object>> snapshots = snapshot(payloads);
+            dispatcher.dispatch(eventType, () -> deliverBatch(eventType, route, eventDomains, snapshots, true));
+        } else if (laneScheduler != null) {
+            List<Map<String, Object>> snapshots = snapshot(payloads);
+            // The batch stays together on the lane of its event type's domain
+            laneScheduler.dispatch(route.domain, () -> deliverBatch(eventType, route, eventDomains, snapshots, true));
+        } else if (route.table.defersDelivery()) {
+            deliverBatch(eventType, route, eventDomains, snapshot(payloads), true);
+        } else {
+            deliverBatch(eventType, route, eventDomains, payloads, false);
+        }
+
+        publishLatency.record(System.nanoTime() - startTime);
+    }
+
+    private static List<Map<String, Object>> snapshot(@NotNull List<Map<String, Object>> payloads) {
+        List<Map<String, Object>> snapshots = new ArrayList<>(payloads.size());
+        for (Map<String, Object> payload : payloads) {
+            snapshots.add(new HashMap<>(payload));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Delivers an event to every subscriber of its type whose filters accept it, transforming
+     * the payload into each subscriber's domain.
+     *
+     * @param owned Whether the payload is a snapshot the publisher can no longer change
+     */
+    private void deliver(
+            @NotNull String eventType,
+            @NotNull Route route,
+            @NotNull Domain eventDomain,
+            @NotNull Map<String, Object> payload,
+            boolean owned) {
+        Subscription[] subscriptions = route.table.subscriptions();
+        if (subscriptions.length == 0) {
+            return;
+        }
+        // Evaluate every subscriber's filters in one pass over the index
+        FilterIndex filters = route.filters;
+        int[] satisfied = filters != null ? filters.evaluate(payload) : null;
+        // One transformation per target domain, shared by every subscriber in that domain
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] views = (Map<String, Object>[]) new Map<?, ?>[DOMAINS.length];
+        for (int position = 0; position < subscriptions.length; position++) {
+            if (satisfied != null && !filters.accepts(satisfied, position)) {
+                filteredDeliveries.increment();
+                continue;
+            }
+            Subscription subscription = subscriptions[position];
+            int target = subscription.getDomain().ordinal();
+            if (views[target] == null) {
+                views[target] = transformPayload(payload, eventDomain, subscription.getDomain());
+            }
+            // A subscriber quarantined since the publisher checked the route gets its own copy
+            Map<String, Object> view = owned || !subscription.isQuarantined()
+                ? views[target]
+                : Collections.unmodifiableMap(new HashMap<>(views[target]));
+            if (subscription.getMailbox() != null) {
+                offerToMailbox(eventType, subscription, view);
+            } else {
+                execute(subscription, conflationKeyFor(subscription, view), () -> invoke(eventType, subscription, view));
+            }
+        }
+    }
+
+    /**
+     * Delivers a batch of same-type events, handing each subscriber the events its filters
+     * accept, in order. Each event is transformed at most once per target domain, and only if
+     * some subscriber in that domain accepts it.
+     *
+     * @param owned Whether the payloads are snapshots the publisher can no longer change
+     */
+    private void deliverBatch(
+            @NotNull String eventType,
+            @NotNull Route route,
+            @NotNull Domain[] eventDomains,
+            @NotNull List<Map<String, Object>> payloads,
+            boolean owned) {
+        Subscription[] subscriptions = route.table.subscriptions();
+        if (subscriptions.length == 0) {
+            return;
+        }
+        int batchSize = payloads.size();
+        FilterIndex filters = route.filters;
+        int[][] satisfied = null;
+        if (filters != null) {
+            satisfied = new int[batchSize][];
+            for (int i = 0; i < batchSize; i++) {
+                satisfied[i] = filters.evaluate(payloads.get(i));
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[][] views = (Map<String, Object>[][]) new Map<?, ?>[DOMAINS.length][];
+        for (int position = 0; position < subscriptions.length; position++) {
+            Subscription subscription = subscriptions[position];
+            Domain targetDomain = subscription.getDomain();
+            Map<String, Object>[] domainViews = views[targetDomain.ordinal()];
+            if (domainViews == null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object>[] created = (Map<String, Object>[]) new Map<?, ?>[batchSize];
+                domainViews = created;
+                views[targetDomain.ordinal()] = domainViews;
+            }
+            List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                if (satisfied != null && !filters.accepts(satisfied[i], position)) {
+                    filteredDeliveries.increment();
+                    continue;
+                }
+                if (domainViews[i] == null) {
+                    domainViews[i] = transformPayload(payloads.get(i), eventDomains[i], targetDomain);
+                }
+                batch.add(owned || !subscription.isQuarantined()
+                    ? domainViews[i]
+                    : Collections.unmodifiableMap(new HashMap<>(domainViews[i])));
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (subscription.getMailbox() != null) {
+                for (Map<String, Object> view : batch) {
+                    offerToMailbox(eventType, subscription, view);
+                }
+                continue;
+            }
+            execute(subscription, null, () -> {
+                for (Map<String, Object> view : batch) {
+                    invoke(eventType, subscription, view);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stores a payload in a conflating subscription's mailbox and schedules a drain if none
+     * is pending. The drain delivers whatever is newest when it runs. A drain that is dropped
+     * or rejected releases its claim, so the next offer schedules another.
+     */
+    private void offerToMailbox(
+            @NotNull String eventType,
+            @NotNull Subscription subscription,
+            @NotNull Map<String, Object> view) {
+        ConflatingMailbox mailbox = subscription.getMailbox();
+        if (mailbox.offer(view)) {
+            conflationReplaced.increment();
+        }
+        if (mailbox.tryScheduleDrain()) {
+            try {
+                execute(subscription, null, mailbox.drainTask(latest -> invoke(eventType, subscription, latest)));
+            } catch (RuntimeException e) {
+                mailbox.releaseDrain();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Calls a subscriber's listener and records how long it took. A failure is handed to
+     * the retry policy instead of reaching the delivering thread.
+     */
+    private void invoke(@NotNull String eventType, @NotNull Subscription subscription, @NotNull Map<String, Object> view) {
+        long startTime = System.nanoTime();
+        try {
+            subscription.getListener().accept(view);
+        } catch (RuntimeException e) {
+            // An inline delivery may have been handed the publisher's own map; retries and
+            // dead letters outlive the publish call, so they keep a copy
+            onDeliveryFailure(eventType, subscription, Collections.unmodifiableMap(new HashMap<>(view)), 1, e);
+        } finally {
+            long latency = System.nanoTime() - startTime;
+            deliveryLatency.record(latency);
+            if (latencyBudgetNanos > 0 && subscription.getExecutionMode() != ExecutionMode.VIRTUAL_THREAD) {
+                checkLatencyBudget(eventType, subscription, subscription.recordLatency(latency));
+            }
+        }
+    }
+
+    /**
+     * Quarantines a subscription whose average latency exceeds the budget and releases one
+     * whose average has dropped below half of it.
+     */
+    private void checkLatencyBudget(@NotNull String eventType, @NotNull Subscription subscription, long averageNanos) {
+        String announcement;
+        if (averageNanos > latencyBudgetNanos) {
+            if (!subscription.quarantine()) {
+                return;
+            }
+            ensureQuarantineLane();
+            quarantinesEntered.increment();
+            quarantinedSubscribers.increment();
+            announcement = SUBSCRIBER_QUARANTINED;
+            LOG.warning("Subscriber " + subscription.getListener() + " of " + eventType + " averages "
+                + averageNanos / 1000 + " us per event; moved to the quarantine lane");
+        } else if (averageNanos < latencyBudgetNanos / 2) {
+            if (!subscription.release()) {
+                return;
+            }
+            quarantinesReleased.increment();
+            quarantinedSubscribers.decrement();
+            announcement = SUBSCRIBER_RELEASED;
+            LOG.info("Subscriber " + subscription.getListener() + " of " + eventType + " has recovered");
+        } else {
+            return;
+        }
+        Map<String, Object> event = new HashMap<>();
+        event.put("listener", subscription.getListener().toString());
+        event.put("eventType", eventType);
+        event.put("averageLatencyNanos", averageNanos);
+        event.put("latencyBudgetNanos", latencyBudgetNanos);
+        publish(announcement, event);
+    }
+
+    /**
+     * Schedules the next attempt of a failed delivery, or dead-letters it once its retries
+     * are used up or too many retries are already pending.
+     *
+     * @param attempts The number of attempts made so far
+     */
+    private void onDeliveryFailure(
+            @NotNull String eventType,
+            @NotNull Subscription subscription,
+            @NotNull Map<String, Object> view,
+            int attempts,
+            @NotNull RuntimeException failure) {
+        deliveryFailures.increment();
+        scheduleRetry(eventType, subscription, view, attempts, failure);
+    }
+
+    /**
+     * Schedules the attempt after the given one, or dead-letters the delivery.
+     */
+    private void scheduleRetry(
+            @NotNull String eventType,
+            @NotNull Subscription subscription,
+            @NotNull Map<String, Object> view,
+            int attempts,
+            @NotNull RuntimeException failure) {
+        if (attempts <= maxRetries) {
+            if (pendingRetries.incrementAndGet() <= maxPendingRetries) {
+                try {
+                    timer().schedule(retryDelayNanos(attempts),
+                        () -> executeRetry(eventType, subscription, view, attempts + 1));
+                    return;
+                } catch (IllegalStateException e) {
+                    // The bus is shutting down; fall through to the dead-letter queue
+                }
+            }
+            pendingRetries.decrementAndGet();
+        }
+        LOG.log(Level.WARNING, "Delivery of " + eventType + " failed after " + attempts
+            + " attempt(s); moved to the dead-letter queue", failure);
+        deadLetters.add(new DeadLetter(eventType, view, subscription, attempts, failure));
+    }
+
+    /**
+     * Computes the delay before the given retry: the exponential backoff, of which the
+     * second half is randomized so subscribers failing together don't retry in lockstep.
+     */
+    private long retryDelayNanos(int retry) {
+        long backoff = retryBaseDelayNanos << Math.min(retry - 1, 30);
+        if (backoff <= 0 || backoff > retryMaxDelayNanos) {
+            backoff = retryMaxDelayNanos;
+        }
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    /**
+     * Hands a due retry from the timer thread to the subscription's lane, like a first
+     * delivery, so retries keep the per-subscriber order and the virtual-thread cap. Retries
+     * of inline subscribers run on capped virtual threads. The timer thread never waits for
+     * room or runs the delivery itself: a retry that does not fit at once is rescheduled as a
+     * spent attempt, and one evicted from its lane later is dead-lettered.
+     */
+    private void executeRetry(
+            @NotNull String eventType,
+            @NotNull Subscription subscription,
+            @NotNull Map<String, Object> view,
+            int attempt) {
+        ShardedDispatcher.DropAware task = new ShardedDispatcher.DropAware() {
+            @Override
+            public void run() {
+                try {
+                    retry(eventType, subscription, view, attempt);
+                } finally {
+                    pendingRetries.decrementAndGet();
+                }
+            }
+
+            @Override
+            public void dropped() {
+                pendingRetries.decrementAndGet();
+                deadLetters.add(new DeadLetter(eventType, view, subscription, attempt - 1,
+                    new IllegalStateException("Retry dropped by the overflow policy")));
+            }
+        };
+        boolean handedOff;
+        try {
+            handedOff = tryExecute(subscription, task);
+        } catch (RuntimeException e) {
+            pendingRetries.decrementAndGet();
+            deadLetters.add(new DeadLetter(eventType, view, subscription, attempt - 1, e));
+            return;
+        }
+        if (!handedOff) {
+            retriesRejected.increment();
+            pendingRetries.decrementAndGet();
+            scheduleRetry(eventType, subscription, view, attempt,
+                new RejectedExecutionException("No room to run retry " + (attempt - 1) + " of " + eventType));
+        }
+    }
+
+    /**
+     * Hands a task to the subscription's lane, or to a virtual thread for inline and
+     * virtual-thread subscribers, only if that is possible without waiting.
+     *
+     * @return false if the lane is full or the virtual-thread cap is reached
+     */
+    private boolean tryExecute(@NotNull Subscription subscription, @NotNull Runnable task) {
+        ShardedDispatcher quarantine = quarantineLane;
+        if (quarantine != null && subscription.isQuarantined()) {
+            return quarantine.tryDispatch(subscription, task);
+        }
+        if (subscription.getExecutionMode() == ExecutionMode.ASYNC) {
+            return subscriberLanes.tryDispatch(subscription, task);
+        }
+        ensureExecutor(ExecutionMode.VIRTUAL_THREAD);
+        if (!virtualThreadPermits.tryAcquire()) {
+            return false;
+        }
+        startVirtualThread(task);
+        return true;
+    }
+
+    private void retry(
+            @NotNull String eventType,
+            @NotNull Subscription subscription,
+            @NotNull Map<String, Object> view,
+            int attempt) {
+        deliveryRetries.increment();
+        long startTime = System.nanoTime();
+        try {
+            subscription.getListener().accept(view);
+        } catch (RuntimeException e) {
+            onDeliveryFailure(eventType, subscription, view, attempt, e);
+        } finally {
+            deliveryLatency.record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Runs a delivery on the thread selected by the subscription's execution mode.
+     */
+    private void execute(@NotNull Subscription subscription, @Nullable Object conflationKey, @NotNull Runnable delivery) {
+        ShardedDispatcher quarantine = quarantineLane;
+        if (quarantine != null && subscription.isQuarantined()) {
+            quarantine.dispatch(subscription, conflationKey, delivery);
+            return;
+        }
+        switch (subscription.getExecutionMode()) {
+            case ASYNC:
+                subscriberLanes.dispatch(subscription, conflationKey, delivery);
+                break;
+            case VIRTUAL_THREAD:
+                executeOnVirtualThread(delivery);
+                break;
+            default:
+                delivery.run();
+                break;
+        }
+    }
+
+    /**
+     * Starts a delivery on a virtual thread once an in-flight permit is available.
+     * The permit is released when the delivery finishes, whether or not it succeeds.
+     * With nothing queued to evict or conflate, DROP_OLDEST and CONFLATE wait like BLOCK.
+     */
+    private void executeOnVirtualThread(@NotNull Runnable delivery) {
+        if (!virtualThreadPermits.tryAcquire()) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                ShardedDispatcher.drop(delivery, overflowCounters);
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+                overflowCounters.callerRuns.increment();
+                delivery.run();
+                return;
+            }
+            virtualThreadPermitWaits.increment();
+            try {
+                if (!virtualThreadPermits.tryAcquire(overflowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    overflowCounters.timedOut.increment();
+                    ShardedDispatcher.drop(delivery, overflowCounters);
+                    return;
+                }
+                overflowCounters.delayed.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a delivery permit", e);
+            }
+        }
+        startVirtualThread(delivery);
+    }
+
+    /**
+     * Starts a delivery on a virtual thread with a permit the caller holds, releasing the
+     * permit when the delivery finishes.
+     */
+    private void startVirtualThread(@NotNull Runnable delivery) {
+        try {
+            virtualThreadExecutor.execute(() -> {
+                try {
+                    delivery.run();
+                } finally {
+                    virtualThreadPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            virtualThreadPermits.release();
+            throw e;
+        }
+        virtualThreadDeliveries.increment();
+    }
 
-        // Transform payload for each subscriber's domain
-        List<Consumer<Map<String, Object>>> eventSubscribers = subscribers.getOrDefault(eventType, Collections.emptyList());
-        for (Consumer<Map<String, Object>> subscriber : eventSubscribers) {
-            Domain targetDomain = getSubscriberDomain(subscriber);
-            Map<String, Object> transformedPayload = transformPayload(payload, eventDomain, targetDomain);
-            subscriber.accept(transformedPayload);
+    /**
+     * Builds the conflation key for a queued delivery, or null when conflation is off
+     * or the payload carries no conflation key value.
+     */
+    @Nullable
+    private Object conflationKeyFor(@NotNull Object owner, @NotNull Map<String, Object> payload) {
+        if (overflowPolicy != OverflowPolicy.CONFLATE) {
+            return null;
         }
+        Object value = payload.get(conflationKey);
+        return value != null ? Map.entry(owner, value) : null;
+    }
+
+    private ShardedDispatcher newDispatcher(@NotNull String name) {
+        return new ShardedDispatcher(
+            name,
+            config.getIntValue("eventBus.workerThreads", 4),
+            config.getIntValue("eventBus.maxQueueSize", 1000),
+            overflowPolicy,
+            overflowTimeoutNanos,
+            overflowCounters);
+    }
 
-        // Update latency metrics
-        long endTime = System.nanoTime();
-        updateLatencyMetrics(startTime, endTime);
+    private PriorityLaneScheduler newLaneScheduler() {
+        int[] weights = new int[DOMAINS.length];
+        for (Domain domain : DOMAINS) {
+            Object weight = config.getDomainSetting(domain, "eventBus.laneWeight", 1);
+            weights[domain.ordinal()] = ((Number) weight).intValue();
+        }
+        return new PriorityLaneScheduler(
+            "event-bus-lanes",
+            weights,
+            config.getIntValue("eventBus.maxQueueSize", 1000),
+            overflowPolicy,
+            overflowTimeoutNanos,
+            overflowCounters);
     }
 
     @Override
@@ -105,8 +1139,127 @@ public class DomainAwareEventBus implements EventBus {
         Objects.requireNonNull(eventType, "Event type must not be null");
         Objects.requireNonNull(listener, "Listener must not be null");
         
-        subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(listener);
-        metrics.get("activeSubscribers").incrementAndGet();
+        subscribe(eventType, listener, defaultOptions);
+    }
+
+    /**
+     * Subscribes to events of a specific type with declared domain, priority and execution mode.
+     *
+     * @param eventType The type of event to subscribe to, or a pattern with "*" and "#" segments
+     * @param listener The listener to be notified
+     * @param options The registration metadata for this listener
+     */
+    public void subscribe(
+            @NotNull String eventType,
+            @NotNull Consumer<Map<String, Object>> listener,
+            @NotNull SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(listener, "Listener must not be null");
+        Objects.requireNonNull(options, "Options must not be null");
+
+        subscribe(eventType, listener, options, false);
+    }
+
+    /**
+     * Registers a subscription; a listener that keeps payloads after it returns is always
+     * handed a snapshot, even when it runs inline.
+     */
+    void subscribe(
+            @NotNull String eventType,
+            @NotNull Consumer<Map<String, Object>> listener,
+            @NotNull SubscriptionOptions options,
+            boolean retainsPayloads) {
+        Subscription subscription = new Subscription(
+            listener, options, subscriptionSequence.incrementAndGet(), retainsPayloads);
+        ensureExecutor(subscription.getExecutionMode());
+        synchronized (routeLock) {
+            if (TopicTrie.isPattern(eventType)) {
+                patternSubscriptions.add(eventType, subscription);
+                invalidateRoutes(eventType);
+            } else {
+                exactSubscriptions.merge(eventType, DispatchTable.EMPTY.with(subscription),
+                    (current, added) -> current.with(subscription));
+                invalidateRoute(eventType);
+            }
+        }
+        activeSubscribers.increment();
+    }
+
+    /**
+     * Subscribes with the bus's default options, delivering only events whose payload
+     * satisfies every given filter.
+     *
+     * @param eventType The type of event to subscribe to, or a pattern with "*" and "#" segments
+     * @param listener The listener to be notified
+     * @param filters Conditions on payload fields that must all hold
+     */
+    public void subscribe(
+            @NotNull String eventType,
+            @NotNull Consumer<Map<String, Object>> listener,
+            @NotNull PayloadPredicate... filters) {
+        Objects.requireNonNull(filters, "Filters must not be null");
+        SubscriptionOptions.Builder options = new SubscriptionOptions.Builder()
+            .executionMode(defaultOptions.getExecutionMode());
+        for (PayloadPredicate filter : filters) {
+            options.where(filter);
+        }
+        subscribe(eventType, listener, options.build());
+    }
+
+    /**
+     * Returns a reactive view of the events of a type, subscribing with the bus's default
+     * options. Each {@link Flow.Subscriber} gets its own bus subscription, which buffers up to
+     * {@code eventBus.flowBufferSize} payloads beyond its demand and then drops the oldest.
+     *
+     * @param eventType The type of event, or a pattern with "*" and "#" segments
+     * @return A publisher of the payloads of matching events
+     */
+    @NotNull
+    public Flow.Publisher<Map<String, Object>> asPublisher(@NotNull String eventType) {
+        return asPublisher(eventType, defaultOptions);
+    }
+
+    /**
+     * Returns a reactive view of the events of a type whose subscribers are registered with
+     * the given options, e.g. to receive payloads in another domain or only those matching
+     * filters.
+     *
+     * @param eventType The type of event, or a pattern with "*" and "#" segments
+     * @param options The registration metadata for each subscriber's bus subscription
+     * @return A publisher of the payloads of matching events
+     */
+    @NotNull
+    public Flow.Publisher<Map<String, Object>> asPublisher(@NotNull String eventType, @NotNull SubscriptionOptions options) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(options, "Options must not be null");
+        return new EventFlowPublisher(this, eventType, options, flowBufferSize, flowDropped);
+    }
+
+    /**
+     * Returns a subscriber that publishes every item it receives as an event of the given
+     * type, requesting {@code eventBus.flowBufferSize} items at a time.
+     *
+     * @param eventType The type to publish items as
+     * @return A subscriber for one upstream publisher at a time
+     */
+    @NotNull
+    public Flow.Subscriber<Map<String, Object>> asSubscriber(@NotNull String eventType) {
+        return asSubscriber(eventType, flowBufferSize);
+    }
+
+    /**
+     * Returns a subscriber that publishes every item it receives as an event of the given
+     * type, requesting demand in batches of the given size.
+     *
+     * @param eventType The type to publish items as
+     * @param batchSize How many items to request at a time
+     * @return A subscriber for one upstream publisher at a time
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    @NotNull
+    public Flow.Subscriber<Map<String, Object>> asSubscriber(@NotNull String eventType, int batchSize) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        return new EventFlowSink(this, eventType, batchSize);
     }
 
     @Override
@@ -114,93 +1267,449 @@ public class DomainAwareEventBus implements EventBus {
         Objects.requireNonNull(eventType, "Event type must not be null");
         Objects.requireNonNull(listener, "Listener must not be null");
         
-        List<Consumer<Map<String, Object>>> eventSubscribers = subscribers.get(eventType);
-        if (eventSubscribers != null && eventSubscribers.remove(listener)) {
-            metrics.get("activeSubscribers").decrementAndGet();
+        boolean removed;
+        synchronized (routeLock) {
+            if (TopicTrie.isPattern(eventType)) {
+                removed = patternSubscriptions.remove(eventType, listener);
+                if (removed) {
+                    invalidateRoutes(eventType);
+                }
+            } else {
+                DispatchTable current = exactSubscriptions.getOrDefault(eventType, DispatchTable.EMPTY);
+                DispatchTable updated = current.without(listener);
+                removed = updated != current;
+                if (removed) {
+                    if (updated.isEmpty()) {
+                        exactSubscriptions.remove(eventType);
+                    } else {
+                        exactSubscriptions.put(eventType, updated);
+                    }
+                    invalidateRoute(eventType);
+                }
+            }
+        }
+        if (removed) {
+            activeSubscribers.decrement();
         }
     }
 
     @Override
     @NotNull
     public Map<String, Object> getMetrics() {
-        Map<String, Object> currentMetrics = new HashMap<>();
-        metrics.forEach((key, value) -> currentMetrics.put(key, value.get()));
+        Map<String, Object> currentMetrics = metrics.snapshot();
+        if (dispatcher != null) {
+            currentMetrics.put("asyncQueueDepth", dispatcher.getQueueDepth());
+        }
+        if (laneScheduler != null) {
+            laneScheduler.putInto(currentMetrics, resetLatencyOnRead);
+        }
+        if (subscriberLanes != null) {
+            currentMetrics.put("subscriberQueueDepth", subscriberLanes.getQueueDepth());
+        }
+        if (quarantineLane != null) {
+            currentMetrics.put("quarantine.queueDepth", quarantineLane.getQueueDepth());
+        }
+        LatencyHistogram.Snapshot publish = publishLatency.snapshot(resetLatencyOnRead);
+        publish.putInto(currentMetrics, "latency.publish");
+        transformLatency.snapshot(resetLatencyOnRead).putInto(currentMetrics, "latency.transform");
+        deliveryLatency.snapshot(resetLatencyOnRead).putInto(currentMetrics, "latency.delivery");
+        // Kept for existing dashboards: mean publish latency in nanoseconds
+        currentMetrics.put("eventLatency", publish.getMean());
+        if (virtualThreadExecutor != null) {
+            currentMetrics.put("virtualThread.inFlight", virtualThreadLimit - virtualThreadPermits.availablePermits());
+        }
+        currentMetrics.put("request.pending", pendingRequests.size());
+        currentMetrics.put("retry.pending", pendingRetries.get());
+        currentMetrics.put("deadLetter.size", deadLetters.size());
+        if (journal != null) {
+            currentMetrics.putAll(journal.getMetrics());
+        }
         return currentMetrics;
     }
 
     /**
-     * Determines the domain of an event based on its type and payload.
+     * Gets the dispatch mode this bus was configured with.
+     *
+     * @return The dispatch mode
      */
-    private Domain determineEventDomain(@NotNull String eventType, @NotNull Map<String, Object> payload) {
-        // Check if domain is explicitly specified in payload
-        if (payload.containsKey("domain")) {
-            try {
-                return Domain.valueOf(payload.get("domain").toString().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Invalid domain specified, fall through to heuristic determination
+    @NotNull
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Registers a tap that receives the type and payload of every published event whose type
+     * matches the pattern, on the publishing thread and before delivery. Taps see the payload
+     * as published, before any domain transformation; they must not modify or keep it.
+     *
+     * @param pattern An event type, or a pattern with "*" and "#" segments
+     * @param tap The tap to call
+     */
+    public void tap(@NotNull String pattern, @NotNull BiConsumer<String, Map<String, Object>> tap) {
+        Objects.requireNonNull(pattern, "Pattern must not be null");
+        Objects.requireNonNull(tap, "Tap must not be null");
+        synchronized (routeLock) {
+            taps.add(new Tap(pattern, tap));
+            invalidateRoutes(pattern);
+        }
+    }
+
+    /**
+     * Removes every registration of a tap.
+     *
+     * @param tap The tap to remove
+     */
+    public void untap(@NotNull BiConsumer<String, Map<String, Object>> tap) {
+        Objects.requireNonNull(tap, "Tap must not be null");
+        synchronized (routeLock) {
+            if (taps.removeIf(registered -> registered.tap == tap)) {
+                routes.clear();
+                unroutedTypes.clear();
             }
         }
+    }
 
-        // Use event type prefix if present
-        if (eventType.contains(".")) {
-            String prefix = eventType.substring(0, eventType.indexOf(".")).toUpperCase();
+    /**
+     * Re-delivers journaled events from the given offset to the current subscribers, on the
+     * calling thread and in offset order. Replayed events are not journaled again and do not
+     * count towards the publish metrics.
+     *
+     * @param fromOffset The first journal offset to deliver
+     * @return The offset following the last replayed event
+     * @throws IllegalStateException if this bus has no journal
+     */
+    public long replayJournal(long fromOffset) {
+        if (journal == null) {
+            throw new IllegalStateException("Event journal is not enabled");
+        }
+        return journal.replay(fromOffset, entry -> {
+            Route route = routeFor(entry.getEventType());
+            Domain explicitDomain = domainFromPayload(entry.getPayload());
+            deliver(entry.getEventType(), route, explicitDomain != null ? explicitDomain : route.domain,
+                entry.getPayload(), true);
+            journalReplayed.increment();
+        });
+    }
+
+    /**
+     * Gets the journal events are appended to, or null if journaling is off.
+     */
+    @Nullable
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the queue of deliveries that failed after their retries.
+     */
+    @NotNull
+    public DeadLetterQueue getDeadLetters() {
+        return deadLetters;
+    }
+
+    /**
+     * Re-delivers dead letters the filter accepts to the subscribers they failed in, on the
+     * calling thread and oldest first, and removes them from the queue. A replayed delivery
+     * that fails again is retried and dead-lettered like a new one.
+     *
+     * @param filter Selects the letters to replay
+     * @return The number of letters replayed
+     */
+    public int replayDeadLetters(@NotNull Predicate<DeadLetter> filter) {
+        Objects.requireNonNull(filter, "Filter must not be null");
+        List<DeadLetter> letters = deadLetters.removeIf(filter);
+        for (DeadLetter letter : letters) {
+            deadLettersReplayed.increment();
+            invoke(letter.getEventType(), letter.getSubscription(), letter.getPayload());
+        }
+        return letters.size();
+    }
+
+    /**
+     * Shuts down asynchronous dispatch and subscriber executors, delivering events that
+     * are already queued, then fails requests still waiting for a reply and closes the
+     * journal. Retries that are not yet due are dropped.
+     */
+    public void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown(60, TimeUnit.SECONDS);
+        }
+        if (laneScheduler != null) {
+            laneScheduler.shutdown(60, TimeUnit.SECONDS);
+        }
+        if (subscriberLanes != null) {
+            subscriberLanes.shutdown(60, TimeUnit.SECONDS);
+        }
+        if (quarantineLane != null) {
+            quarantineLane.shutdown(60, TimeUnit.SECONDS);
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
             try {
-                return Domain.valueOf(prefix);
-            } catch (IllegalArgumentException e) {
-                // Invalid prefix, fall through to heuristic determination
+                if (!virtualThreadExecutor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    virtualThreadExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                virtualThreadExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
             }
         }
+        if (timer != null) {
+            timer.shutdown(5, TimeUnit.SECONDS);
+        }
+        for (Long correlationId : new ArrayList<>(pendingRequests.keySet())) {
+            CompletableFuture<Map<String, Object>> future = pendingRequests.remove(correlationId);
+            if (future != null) {
+                future.completeExceptionally(new IllegalStateException("Event bus has been shut down"));
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
 
-        // Heuristic determination based on payload structure
-        if (payload.containsKey("cognitive_state") || payload.containsKey("awareness")) {
-            return Domain.COGNITIVE;
-        } else if (payload.containsKey("structure") || payload.containsKey("anchors")) {
-            return Domain.REPRESENTATIONAL;
-        } else {
-            return Domain.COMPUTATIONAL; // Default domain
+    /**
+     * Creates the quarantine lane, sharded by subscription, when the first subscriber is
+     * quarantined.
+     */
+    private synchronized void ensureQuarantineLane() {
+        if (quarantineLane == null) {
+            quarantineLane = new ShardedDispatcher(
+                "event-bus-quarantine",
+                config.getIntValue("eventBus.quarantineThreads", 4),
+                config.getIntValue("eventBus.maxQueueSize", 1000),
+                OverflowPolicy.valueOf(config.getSetting("eventBus.quarantineOverflowPolicy", "drop_oldest")
+                    .toString().toUpperCase()),
+                overflowTimeoutNanos,
+                overflowCounters);
+        }
+    }
+
+    /**
+     * Creates the executor backing an execution mode the first time a subscriber uses it,
+     * so the delivery path only reads a field.
+     */
+    private synchronized void ensureExecutor(@NotNull ExecutionMode executionMode) {
+        if (executionMode == ExecutionMode.ASYNC && subscriberLanes == null) {
+            subscriberLanes = newDispatcher("event-bus-subscriber");
+        } else if (executionMode == ExecutionMode.VIRTUAL_THREAD && virtualThreadExecutor == null) {
+            virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+    }
+
+    /**
+     * Registers the domain of an event type, overriding its type prefix.
+     *
+     * @param eventType The event type
+     * @param domain The domain events of this type belong to
+     */
+    public void registerEventDomain(@NotNull String eventType, @NotNull Domain domain) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(domain, "Domain must not be null");
+        synchronized (routeLock) {
+            eventDomains.put(eventType, domain);
+            invalidateRoute(eventType);
+        }
+    }
+
+    /**
+     * Returns the cached route for an event type, resolving and caching it on first use.
+     * Types without subscribers or taps are cached apart from routed ones, each cache holding
+     * up to {@code eventBus.routeCacheSize} types, so a stream of one-off unrouted types cannot
+     * crowd out routed ones. When a cache is full one of its entries is evicted to make room;
+     * an evicted type is cached again on its next publish.
+     */
+    private Route routeFor(@NotNull String eventType) {
+        Route route = routes.get(eventType);
+        if (route == null) {
+            route = unroutedTypes.get(eventType);
+        }
+        if (route != null) {
+            return route;
+        }
+        synchronized (routeLock) {
+            route = routes.get(eventType);
+            if (route == null) {
+                route = unroutedTypes.get(eventType);
+            }
+            if (route == null) {
+                route = resolveRoute(eventType);
+                boolean unrouted = route == Route.UNROUTED[route.domain.ordinal()];
+                cacheRoute(unrouted ? unroutedTypes : routes, eventType, route);
+            }
+            return route;
+        }
+    }
+
+    /**
+     * Caches a route, evicting one entry first if the cache is full. Called holding the route lock.
+     */
+    private void cacheRoute(
+            @NotNull Map<String, Route> cache, @NotNull String eventType, @NotNull Route route) {
+        if (cache.size() >= routeCacheSize) {
+            Iterator<String> cached = cache.keySet().iterator();
+            if (cached.hasNext()) {
+                cached.next();
+                cached.remove();
+            }
+        }
+        cache.put(eventType, route);
+    }
+
+    /**
+     * Drops the cached routes, routed or not, of every type a pattern matches. Called holding
+     * the route lock.
+     */
+    private void invalidateRoutes(@NotNull String pattern) {
+        routes.keySet().removeIf(type -> TopicTrie.matches(pattern, type));
+        unroutedTypes.keySet().removeIf(type -> TopicTrie.matches(pattern, type));
+    }
+
+    /**
+     * Drops the cached route, routed or not, of one event type. Called holding the route lock.
+     */
+    private void invalidateRoute(@NotNull String eventType) {
+        routes.remove(eventType);
+        unroutedTypes.remove(eventType);
+    }
+
+    /**
+     * Merges the exact and matching wildcard subscriptions of an event type into a route.
+     * Types without subscribers share a preallocated empty route for their domain.
+     * Must be called while holding the route lock.
+     */
+    private Route resolveRoute(@NotNull String eventType) {
+        Domain domain = resolveDomain(eventType);
+        DispatchTable table = exactSubscriptions.getOrDefault(eventType, DispatchTable.EMPTY)
+            .withAll(patternSubscriptions.match(eventType));
+        List<BiConsumer<String, Map<String, Object>>> matchedTaps = new ArrayList<>();
+        for (Tap tap : taps) {
+            if (TopicTrie.matches(tap.pattern, eventType)) {
+                matchedTaps.add(tap.tap);
+            }
+        }
+        if (table.isEmpty() && matchedTaps.isEmpty()) {
+            return Route.UNROUTED[domain.ordinal()];
         }
+        return new Route(domain, table, matchedTaps);
     }
 
     /**
-     * Gets the target domain for a subscriber.
+     * Resolves the domain of an event type from its registration or its type prefix.
      */
-    private Domain getSubscriberDomain(@NotNull Consumer<Map<String, Object>> subscriber) {
-        // Implementation could be enhanced to determine subscriber's domain
-        // through reflection or registration metadata
-        return Domain.COMPUTATIONAL; // Default domain for now
+    private Domain resolveDomain(@NotNull String eventType) {
+        Domain registered = eventDomains.get(eventType);
+        if (registered != null) {
+            return registered;
+        }
+        Domain prefixed = domainFromPrefix(eventType);
+        return prefixed != null ? prefixed : Domain.COMPUTATIONAL; // Default domain
     }
 
     /**
-     * Transforms the payload between domains using registered transformers.
+     * Reads an explicit domain from the payload's "domain" entry, or returns null.
+     * Accepts a Domain constant or its name in any case.
+     */
+    private static Domain domainFromPayload(@NotNull Map<String, Object> payload) {
+        Object value = payload.get("domain");
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Domain) {
+            return (Domain) value;
+        }
+        String name = value.toString();
+        for (Domain domain : DOMAINS) {
+            if (domain.name().equalsIgnoreCase(name)) {
+                return domain;
+            }
+        }
+        return null; // Invalid domain specified, use the route's domain
+    }
+
+    /**
+     * Reads the domain from an event type prefix such as "cognitive.", or returns null.
+     */
+    private static Domain domainFromPrefix(@NotNull String eventType) {
+        int dot = eventType.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        for (Domain domain : DOMAINS) {
+            String name = domain.name();
+            if (dot == name.length() && eventType.regionMatches(true, 0, name, 0, dot)) {
+                return domain;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Transforms the payload between domains using the fused chain of the domain pair.
+     * Returns an unmodifiable view that may be shared between subscribers; without
+     * transformers for the pair, that is a view of the payload itself.
      */
     private Map<String, Object> transformPayload(
             @NotNull Map<String, Object> payload,
             @NotNull Domain sourceDomain,
             @NotNull Domain targetDomain) {
-        if (sourceDomain == targetDomain) {
-            return new HashMap<>(payload);
+        TransformChain chain = transformChains[sourceDomain.ordinal() * DOMAINS.length + targetDomain.ordinal()];
+        if (chain == null) {
+            return Collections.unmodifiableMap(payload);
         }
 
-        metrics.get("domainTransformations").incrementAndGet();
+        domainTransformations.increment();
+        long startTime = System.nanoTime();
+        Map<String, Object> transformedPayload = chain.apply(payload, sourceDomain, targetDomain);
+        transformLatency.record(System.nanoTime() - startTime);
+        return Collections.unmodifiableMap(transformedPayload);
+    }
+
+    /**
+     * Resolved routing information for one event type: its domain, dispatch table, the
+     * index over its subscriptions' content filters (null when none are filtered) and the
+     * taps whose pattern matches the type
+     */
+    private static final class Route {
+        private static final Route[] UNROUTED = new Route[DOMAINS.length];
 
-        // Apply transformers in sequence
-        Map<String, Object> transformedPayload = new HashMap<>(payload);
-        List<DomainTransformer> transformers = domainTransformers.get(targetDomain);
-        for (DomainTransformer transformer : transformers) {
-            transformedPayload = transformer.transform(transformedPayload, sourceDomain, targetDomain);
+        static {
+            for (Domain domain : DOMAINS) {
+                UNROUTED[domain.ordinal()] = new Route(domain, DispatchTable.EMPTY, Collections.emptyList());
+            }
         }
 
-        return transformedPayload;
+        private final Domain domain;
+        private final DispatchTable table;
+        private final FilterIndex filters;
+        private final List<BiConsumer<String, Map<String, Object>>> taps;
+
+        Route(Domain domain, DispatchTable table, List<BiConsumer<String, Map<String, Object>>> taps) {
+            this.domain = domain;
+            this.table = table;
+            this.filters = FilterIndex.build(table);
+            this.taps = taps;
+        }
     }
 
-    private void updateLatencyMetrics(long startTime, long endTime) {
-        long currentLatency = metrics.get("eventLatency").get();
-        long newLatency = (currentLatency + (endTime - startTime)) / 2; // Rolling average
-        metrics.get("eventLatency").set(newLatency);
+    private static final class Tap {
+        private final String pattern;
+        private final BiConsumer<String, Map<String, Object>> tap;
+
+        Tap(String pattern, BiConsumer<String, Map<String, Object>> tap) {
+            this.pattern = pattern;
+            this.tap = tap;
+        }
     }
 
     /**
-     * Interface for domain transformation logic
+     * Interface for domain transformation logic.
+     *
+     * <p>A transformer is given a working copy of the payload, which it may modify, and
+     * returns that map or another. A transformer that never modifies the map it is given can
+     * declare itself {@link #isPure() pure} to skip the copy; one that modifies and returns it
+     * can declare itself {@link #isInPlace() in place}. Consecutive transformers share one
+     * working map when each returns the map it was given.
      */
     public interface DomainTransformer {
         /**
@@ -216,5 +1725,65 @@ public class DomainAwareEventBus implements EventBus {
             Domain sourceDomain,
             Domain targetDomain
         );
+
+        /**
+         * Whether this transformer modifies the map it is given and returns it, rather than
+         * leaving it untouched.
+         */
+        default boolean isInPlace() {
+            return false;
+        }
+
+        /**
+         * Whether this transformer leaves the map it is given untouched, so it may be given the
+         * publisher's payload or a shared map without a copy. Ignored for in-place transformers.
+         */
+        default boolean isPure() {
+            return false;
+        }
+
+        /**
+         * Declares a transformer that modifies the map it is given and returns it.
+         *
+         * @param transformer The transformer
+         * @return The transformer, declared in place
+         */
+        @NotNull
+        static DomainTransformer inPlace(@NotNull DomainTransformer transformer) {
+            Objects.requireNonNull(transformer, "Transformer must not be null");
+            return new DomainTransformer() {
+                @Override
+                public Map<String, Object> transform(Map<String, Object> payload, Domain sourceDomain, Domain targetDomain) {
+                    return transformer.transform(payload, sourceDomain, targetDomain);
+                }
+
+                @Override
+                public boolean isInPlace() {
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Declares a transformer that leaves the map it is given untouched.
+         *
+         * @param transformer The transformer
+         * @return The transformer, declared pure
+         */
+        @NotNull
+        static DomainTransformer pure(@NotNull DomainTransformer transformer) {
+            Objects.requireNonNull(transformer, "Transformer must not be null");
+            return new DomainTransformer() {
+                @Override
+                public Map<String, Object> transform(Map<String, Object> payload, Domain sourceDomain, Domain targetDomain) {
+                    return transformer.transform(payload, sourceDomain, targetDomain);
+                }
+
+                @Override
+                public boolean isPure() {
+                    return true;
+                }
+            };
+        }
     }
 } 
\ No newline at end of file
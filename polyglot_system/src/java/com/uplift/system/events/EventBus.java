@@ -1,5 +1,6 @@
 package com.uplift.system.events;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -14,6 +15,28 @@ public interface EventBus {
      */
     void publish(String eventType, Map<String, Object> payload);
 
+    /**
+     * Publish a batch of events of one type.
+     * Implementations may amortize per-event work across the batch; the default publishes
+     * each payload in order.
+     * @param eventType The type of the events
+     * @param payloads Event data, in publish order
+     */
+    default void publishAll(String eventType, List<Map<String, Object>> payloads) {
+        for (Map<String, Object> payload : payloads) {
+            publish(eventType, payload);
+        }
+    }
+
+    /**
+     * Publish batches of events of several types.
+     * Ordering is preserved within each type.
+     * @param eventsByType Event data keyed by event type
+     */
+    default void publishAll(Map<String, List<Map<String, Object>>> eventsByType) {
+        eventsByType.forEach(this::publishAll);
+    }
+
     /**
      * Subscribe to events of a specific type
      * @param eventType The type of event to subscribe to
@@ -0,0 +1,186 @@
+package com.uplift.system.events;
+
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Flow.Publisher} view of the events of one type, or of a wildcard pattern, on a
+ * {@link DomainAwareEventBus}.
+ *
+ * <p>Each {@link Flow.Subscriber} gets its own bus subscription, which buffers delivered
+ * payloads until the subscriber requests them. The buffer holds {@code eventBus.flowBufferSize}
+ * payloads; when the subscriber falls further behind, the oldest buffered payload is dropped
+ * and counted as {@code flow.dropped}, so a stalled subscriber never blocks the bus.
+ *
+ * <p>Buffered payloads are emitted by whichever thread finds demand and queued payloads
+ * first: the delivering thread or the one calling {@link Flow.Subscription#request}. A drain
+ * emits as many payloads as the outstanding demand allows and settles the demand once per
+ * batch; a thread that arrives while a drain is running leaves the work to it, so signals to
+ * a subscriber never overlap and a subscriber requesting from {@code onNext} does not recurse.
+ * The stream never completes; subscribers cancel it to stop.
+ */
+final class EventFlowPublisher implements Flow.Publisher<Map<String, Object>> {
+
+    private static final Logger LOG = Logger.getLogger(EventFlowPublisher.class.getName());
+
+    private final DomainAwareEventBus bus;
+    private final String eventType;
+    private final SubscriptionOptions options;
+    private final int bufferSize;
+    private final Counter dropped;
+
+    EventFlowPublisher(
+            @NotNull DomainAwareEventBus bus,
+            @NotNull String eventType,
+            @NotNull SubscriptionOptions options,
+            int bufferSize,
+            @NotNull Counter dropped) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Flow buffer size must be positive");
+        }
+        this.bus = bus;
+        this.eventType = eventType;
+        this.options = options;
+        this.bufferSize = bufferSize;
+        this.dropped = dropped;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Map<String, Object>> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null");
+        FlowSubscription subscription = new FlowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (!subscription.cancelled) {
+            bus.subscribe(eventType, subscription, options, true);
+            // A cancel racing the subscribe may have unsubscribed before there was anything to remove
+            if (subscription.cancelled) {
+                bus.unsubscribe(eventType, subscription);
+            }
+        }
+    }
+
+    /**
+     * One subscriber's stream; also the bus listener that feeds its buffer.
+     */
+    private final class FlowSubscription implements Flow.Subscription, Consumer<Map<String, Object>> {
+        private final Flow.Subscriber<? super Map<String, Object>> subscriber;
+        private final ArrayBlockingQueue<Map<String, Object>> buffer;
+        private final AtomicLong requested;
+        private final AtomicInteger work;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private boolean terminated;
+
+        FlowSubscription(Flow.Subscriber<? super Map<String, Object>> subscriber) {
+            this.subscriber = subscriber;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.requested = new AtomicLong();
+            this.work = new AtomicInteger();
+        }
+
+        @Override
+        public void accept(Map<String, Object> payload) {
+            if (cancelled) {
+                return;
+            }
+            while (!buffer.offer(payload)) {
+                if (buffer.poll() != null) {
+                    dropped.increment();
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                // A cancelled subscription receives no further signals, not even for bad demand
+                return;
+            }
+            if (n <= 0) {
+                error = new IllegalArgumentException("Subscriber requested " + n + " items; demand must be positive");
+                cancel();
+                drain();
+                return;
+            }
+            long current;
+            long updated;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+                updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, updated));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                bus.unsubscribe(eventType, this);
+            }
+        }
+
+        /**
+         * Emits buffered payloads up to the demand. Only the thread that raises the work count
+         * from zero drains; others record that there is more work and return.
+         */
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (terminated) {
+                    buffer.clear();
+                } else if (error != null) {
+                    terminated = true;
+                    buffer.clear();
+                    subscriber.onError(error);
+                } else {
+                    emit();
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand && !cancelled) {
+                Map<String, Object> payload = buffer.poll();
+                if (payload == null) {
+                    break;
+                }
+                try {
+                    subscriber.onNext(payload);
+                } catch (RuntimeException e) {
+                    // onNext must not throw; treat a subscriber that does as cancelled
+                    LOG.log(Level.SEVERE, "Flow subscriber of " + eventType + " failed; cancelling", e);
+                    terminated = true;
+                    cancel();
+                    return;
+                }
+                emitted++;
+            }
+            if (cancelled) {
+                // An invalid request cancels too, but its error is still signalled
+                terminated = error == null;
+                buffer.clear();
+            } else if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Flow.Subscriber} that publishes every item it receives as an event of one type on a
+ * {@link DomainAwareEventBus}.
+ *
+ * <p>Demand is requested in batches: the sink requests a full batch on subscription and tops
+ * it up by three quarters of a batch once that many items have arrived, so upstream sees one
+ * {@code request} call per batch rather than per item while never more than a batch is
+ * outstanding. Items are published on the thread that signals them. A publish that fails
+ * cancels the upstream, and items still arriving after that are ignored.
+ */
+final class EventFlowSink implements Flow.Subscriber<Map<String, Object>> {
+
+    private static final Logger LOG = Logger.getLogger(EventFlowSink.class.getName());
+
+    private final DomainAwareEventBus bus;
+    private final String eventType;
+    private final int batchSize;
+    private final int replenishAt;
+    private Flow.Subscription subscription;
+    private int received;
+
+    EventFlowSink(@NotNull DomainAwareEventBus bus, @NotNull String eventType, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.bus = bus;
+        this.eventType = eventType;
+        this.batchSize = batchSize;
+        this.replenishAt = Math.max(1, batchSize - (batchSize >> 2));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "Subscription must not be null");
+        if (this.subscription != null) {
+            // A sink serves one upstream at a time
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Map<String, Object> item) {
+        Objects.requireNonNull(item, "Item must not be null");
+        if (subscription == null) {
+            // Items already in flight when the sink cancelled
+            return;
+        }
+        try {
+            bus.publish(eventType, item);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to publish " + eventType + " from sink, cancelling upstream", e);
+            subscription.cancel();
+            subscription = null;
+            return;
+        }
+        if (++received == replenishAt) {
+            received = 0;
+            subscription.request(replenishAt);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        LOG.log(Level.WARNING, "Upstream of " + eventType + " sink failed", throwable);
+        subscription = null;
+    }
+
+    @Override
+    public void onComplete() {
+        subscription = null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over the content filters of one dispatch table.
+ *
+ * <p>Equality and set-membership predicates are indexed as field -> value -> positions of the
+ * subscriptions that accept that value; range predicates are kept in a list. Evaluating a
+ * payload reads each indexed field once, counts the predicates every subscription satisfies,
+ * and accepts a subscription when all of its predicates hold. Subscriptions without filters
+ * are always accepted.
+ */
+final class FilterIndex {
+    private final int[] required;
+    private final String[] indexedFields;
+    private final Map<Object, int[]>[] positionsByValue;
+    private final PayloadPredicate[] ranges;
+    private final int[] rangePositions;
+
+    private FilterIndex(
+            int[] required,
+            String[] indexedFields,
+            Map<Object, int[]>[] positionsByValue,
+            PayloadPredicate[] ranges,
+            int[] rangePositions) {
+        this.required = required;
+        this.indexedFields = indexedFields;
+        this.positionsByValue = positionsByValue;
+        this.ranges = ranges;
+        this.rangePositions = rangePositions;
+    }
+
+    /**
+     * Builds the index for a dispatch table, or returns null if no subscription is filtered.
+     */
+    @Nullable
+    static FilterIndex build(@NotNull DispatchTable table) {
+        Subscription[] subscriptions = table.subscriptions();
+        int[] required = new int[subscriptions.length];
+        Map<String, Map<Object, List<Integer>>> equality = new HashMap<>();
+        List<PayloadPredicate> ranges = new ArrayList<>();
+        List<Integer> rangePositions = new ArrayList<>();
+        boolean filtered = false;
+        for (int position = 0; position < subscriptions.length; position++) {
+            List<PayloadPredicate> filters = subscriptions[position].getOptions().getFilters();
+            required[position] = filters.size();
+            for (PayloadPredicate filter : filters) {
+                filtered = true;
+                if (filter.getKind() == PayloadPredicate.Kind.RANGE) {
+                    ranges.add(filter);
+                    rangePositions.add(position);
+                    continue;
+                }
+                Map<Object, List<Integer>> byValue = equality.computeIfAbsent(filter.getField(), key -> new HashMap<>());
+                for (Object value : filter.getValues()) {
+                    byValue.computeIfAbsent(value, key -> new ArrayList<>()).add(position);
+                }
+            }
+        }
+        if (!filtered) {
+            return null;
+        }
+        String[] fields = equality.keySet().toArray(new String[0]);
+        @SuppressWarnings("unchecked")
+        Map<Object, int[]>[] positionsByValue = (Map<Object, int[]>[]) new Map<?, ?>[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Map<Object, int[]> byValue = new HashMap<>();
+            equality.get(fields[i]).forEach((value, positions) -> byValue.put(value, toArray(positions)));
+            positionsByValue[i] = byValue;
+        }
+        return new FilterIndex(required, fields, positionsByValue,
+            ranges.toArray(new PayloadPredicate[0]), toArray(rangePositions));
+    }
+
+    /**
+     * Evaluates every subscription's filters against a payload in one pass.
+     *
+     * @return Per-position count of satisfied predicates, to be checked with {@link #accepts}
+     */
+    @NotNull
+    int[] evaluate(@NotNull Map<String, Object> payload) {
+        int[] satisfied = new int[required.length];
+        for (int i = 0; i < indexedFields.length; i++) {
+            Object value = payload.get(indexedFields[i]);
+            if (value == null) {
+                continue;
+            }
+            int[] positions = positionsByValue[i].get(PayloadPredicate.normalize(value));
+            if (positions != null) {
+                for (int position : positions) {
+                    satisfied[position]++;
+                }
+            }
+        }
+        for (int i = 0; i < ranges.length; i++) {
+            if (ranges[i].test(payload)) {
+                satisfied[rangePositions[i]]++;
+            }
+        }
+        return satisfied;
+    }
+
+    boolean accepts(@NotNull int[] satisfied, int position) {
+        return satisfied[position] == required[position];
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        Arrays.setAll(array, values::get);
+        return array;
+    }
+}
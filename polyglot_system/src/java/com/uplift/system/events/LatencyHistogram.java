@@ -0,0 +1,176 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of nanosecond latencies with high dynamic range.
+ *
+ * <p>Values are counted in log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} equal sub-buckets, so a recorded value is reported within about 3%
+ * of its true value anywhere from one nanosecond up to {@code Long.MAX_VALUE}.
+ *
+ * <p>Recording threads are spread over stripes by thread id, and each stripe is a plain
+ * {@link AtomicLongArray}, so concurrent publishers rarely touch the same cache lines.
+ * A snapshot merges all stripes; {@link #snapshot(boolean) snapshot(true)} also clears them,
+ * which turns the histogram into an interval histogram. A value recorded while a snapshot is
+ * taken is counted in exactly one interval.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    // Per stripe: bucket counts, then the sum and the max of the recorded values
+    private static final int SUM_SLOT = BUCKET_COUNT;
+    private static final int MAX_SLOT = BUCKET_COUNT + 1;
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 2;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    LatencyHistogram() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripeCount = processors <= 1 ? 1 : Math.min(MAX_STRIPES, Integer.highestOneBit((processors - 1) << 1));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records one latency. Negative values, which only a misbehaving clock produces, count as zero.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        AtomicLongArray stripe = stripes[stripeIndex()];
+        stripe.incrementAndGet(bucketIndex(value));
+        stripe.addAndGet(SUM_SLOT, value);
+        long max = stripe.get(MAX_SLOT);
+        while (value > max && !stripe.compareAndSet(MAX_SLOT, max, value)) {
+            max = stripe.get(MAX_SLOT);
+        }
+    }
+
+    /**
+     * Merges all stripes into a snapshot.
+     *
+     * @param reset Whether to clear the recorded values, starting a new interval
+     * @return The merged snapshot
+     */
+    @NotNull
+    Snapshot snapshot(boolean reset) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucket = reset ? stripe.getAndSet(i, 0) : stripe.get(i);
+                counts[i] += bucket;
+                count += bucket;
+            }
+            sum += reset ? stripe.getAndSet(SUM_SLOT, 0) : stripe.get(SUM_SLOT);
+            max = Math.max(max, reset ? stripe.getAndSet(MAX_SLOT, 0) : stripe.get(MAX_SLOT));
+        }
+        return new Snapshot(counts, count, sum, max);
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        // Spread sequential thread ids over the stripes
+        int hash = (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+        return hash & stripeMask;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return exponent * SUB_BUCKETS + (int) (value >>> exponent);
+    }
+
+    /**
+     * Highest value that falls into a bucket, which is what percentiles report.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+
+    /**
+     * Merged, immutable view of a histogram at one point in time.
+     */
+    static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getMax() {
+            return max;
+        }
+
+        long getMean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        /**
+         * Returns the value below which the given fraction of recorded values fall,
+         * or 0 if nothing was recorded.
+         *
+         * @param quantile A fraction between 0 and 1, e.g. 0.99
+         */
+        long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Adds count, mean, p50, p90, p99, p999 and max, in nanoseconds, to a metrics map.
+         *
+         * @param metrics The map to add to
+         * @param prefix Key prefix, e.g. "latency.publish"
+         */
+        void putInto(@NotNull Map<String, Object> metrics, @NotNull String prefix) {
+            metrics.put(prefix + ".count", count);
+            metrics.put(prefix + ".mean", getMean());
+            metrics.put(prefix + ".p50", getValueAtQuantile(0.50));
+            metrics.put(prefix + ".p90", getValueAtQuantile(0.90));
+            metrics.put(prefix + ".p99", getValueAtQuantile(0.99));
+            metrics.put(prefix + ".p999", getValueAtQuantile(0.999));
+            metrics.put(prefix + ".max", max);
+        }
+    }
+}
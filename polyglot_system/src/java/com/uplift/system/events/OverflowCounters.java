@@ -0,0 +1,25 @@
+package com.uplift.system.events;
+
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counters recording how overflow policies handled deliveries that found their queue full.
+ * They are registered under the "overflow." prefix of the owning bus's registry.
+ */
+final class OverflowCounters {
+    final Counter dropped;
+    final Counter timedOut;
+    final Counter delayed;
+    final Counter callerRuns;
+    final Counter conflated;
+
+    OverflowCounters(@NotNull CounterRegistry registry) {
+        this.dropped = registry.counter("overflow.dropped");
+        this.timedOut = registry.counter("overflow.timedOut");
+        this.delayed = registry.counter("overflow.delayed");
+        this.callerRuns = registry.counter("overflow.callerRuns");
+        this.conflated = registry.counter("overflow.conflated");
+    }
+}
@@ -0,0 +1,145 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Declarative condition on one payload field, used to filter subscriptions by content.
+ *
+ * <p>Equality and set-membership predicates are indexed by the bus per event type, so a
+ * publish looks up each filtered field once instead of testing every subscriber. Integral
+ * numbers are compared as longs and floating-point numbers as doubles, so a predicate on
+ * {@code 3} matches a payload value of {@code 3L}. Range predicates compare any
+ * {@link Number} as a double, bounds inclusive; a missing or non-numeric value never matches.
+ */
+public final class PayloadPredicate {
+
+    enum Kind {
+        EQUALS,
+        IN,
+        RANGE
+    }
+
+    private final String field;
+    private final Kind kind;
+    private final Set<Object> values;
+    private final double min;
+    private final double max;
+
+    private PayloadPredicate(String field, Kind kind, Set<Object> values, double min, double max) {
+        this.field = Objects.requireNonNull(field, "Field must not be null");
+        this.kind = kind;
+        this.values = values;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Matches payloads whose field equals the given value.
+     */
+    @NotNull
+    public static PayloadPredicate equalTo(@NotNull String field, @NotNull Object value) {
+        Objects.requireNonNull(value, "Value must not be null");
+        return new PayloadPredicate(field, Kind.EQUALS, Collections.singleton(normalize(value)), 0, 0);
+    }
+
+    /**
+     * Matches payloads whose field equals any of the given values.
+     */
+    @NotNull
+    public static PayloadPredicate in(@NotNull String field, @NotNull Collection<?> values) {
+        Objects.requireNonNull(values, "Values must not be null");
+        Set<Object> normalized = new HashSet<>();
+        for (Object value : values) {
+            normalized.add(normalize(Objects.requireNonNull(value, "Values must not contain null")));
+        }
+        return new PayloadPredicate(field, Kind.IN, Collections.unmodifiableSet(normalized), 0, 0);
+    }
+
+    /**
+     * Matches payloads whose numeric field lies between min and max, inclusive.
+     *
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @NotNull
+    public static PayloadPredicate between(@NotNull String field, double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Range minimum must not exceed its maximum");
+        }
+        return new PayloadPredicate(field, Kind.RANGE, null, min, max);
+    }
+
+    @NotNull
+    public static PayloadPredicate atLeast(@NotNull String field, double min) {
+        return between(field, min, Double.POSITIVE_INFINITY);
+    }
+
+    @NotNull
+    public static PayloadPredicate atMost(@NotNull String field, double max) {
+        return between(field, Double.NEGATIVE_INFINITY, max);
+    }
+
+    @NotNull
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Evaluates the predicate against a payload directly, without an index.
+     */
+    public boolean test(@NotNull Map<String, Object> payload) {
+        Object value = payload.get(field);
+        if (value == null) {
+            return false;
+        }
+        if (kind == Kind.RANGE) {
+            if (!(value instanceof Number)) {
+                return false;
+            }
+            double number = ((Number) value).doubleValue();
+            return number >= min && number <= max;
+        }
+        return values.contains(normalize(value));
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Accepted values of an EQUALS or IN predicate, already normalized.
+     */
+    Set<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * Widens numbers so equal quantities of different boxed types compare equal.
+     */
+    static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case EQUALS:
+                return field + " == " + values.iterator().next();
+            case IN:
+                return field + " in " + values;
+            default:
+                return field + " in [" + min + ", " + max + "]";
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.uplift.system.events;
+
+import com.uplift.system.events.DomainAwareEventBus.Domain;
+import com.uplift.system.events.DomainAwareEventBus.OverflowPolicy;
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Schedules deliveries from one bounded lane per {@link Domain} with weighted fair queuing.
+ *
+ * <p>A single scheduler thread serves the lanes by deficit round robin: on each visit a lane
+ * may dispatch up to its weight in tasks before the next non-empty lane gets its turn. A lane
+ * with weight 8 therefore receives eight times the throughput of a lane with weight 1 while
+ * both are busy, and a task at the head of any lane waits for at most one round, the sum of
+ * the other lanes' weights in deliveries, so no lane can be starved. Within a lane tasks run
+ * in submission order.
+ *
+ * <p>When a lane is full, the {@link OverflowPolicy} decides what happens to the new task.
+ * Conflation has no meaning here, so {@link OverflowPolicy#CONFLATE} waits like
+ * {@link OverflowPolicy#BLOCK}.
+ */
+final class PriorityLaneScheduler {
+
+    private static final Logger LOG = Logger.getLogger(PriorityLaneScheduler.class.getName());
+    private static final Domain[] DOMAINS = Domain.values();
+
+    private final ArrayDeque<LaneTask>[] lanes;
+    private final int[] weights;
+    private final int[] credits;
+    private final int laneCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long overflowTimeoutNanos;
+    private final OverflowCounters overflowCounters;
+    private final LatencyHistogram[] waitTimes;
+    private final AtomicLongArray dispatched;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private final Thread worker;
+    private int current;
+    private int queued;
+    private boolean running;
+
+    /**
+     * Creates and starts a scheduler.
+     *
+     * @param name Name of the scheduler thread
+     * @param weights Lane weight per domain, indexed by ordinal; each must be positive
+     * @param laneCapacity Capacity of each lane
+     * @param overflowPolicy What to do with a task when its lane is full
+     * @param overflowTimeoutNanos How long {@link OverflowPolicy#BLOCK} waits before dropping
+     * @param overflowCounters Counters updated when the overflow policy applies
+     * @throws IllegalArgumentException if a weight or the capacity is not positive
+     */
+    PriorityLaneScheduler(
+            @NotNull String name,
+            @NotNull int[] weights,
+            int laneCapacity,
+            @NotNull OverflowPolicy overflowPolicy,
+            long overflowTimeoutNanos,
+            @NotNull OverflowCounters overflowCounters) {
+        if (weights.length != DOMAINS.length) {
+            throw new IllegalArgumentException("Expected one lane weight per domain");
+        }
+        for (int weight : weights) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Lane weights must be positive");
+            }
+        }
+        if (laneCapacity <= 0) {
+            throw new IllegalArgumentException("Lane capacity must be positive");
+        }
+        this.weights = weights.clone();
+        this.credits = new int[DOMAINS.length];
+        this.laneCapacity = laneCapacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy must not be null");
+        this.overflowTimeoutNanos = overflowTimeoutNanos;
+        this.overflowCounters = Objects.requireNonNull(overflowCounters, "Overflow counters must not be null");
+        @SuppressWarnings("unchecked")
+        ArrayDeque<LaneTask>[] lanes = (ArrayDeque<LaneTask>[]) new ArrayDeque<?>[DOMAINS.length];
+        this.lanes = lanes;
+        this.waitTimes = new LatencyHistogram[DOMAINS.length];
+        for (Domain domain : DOMAINS) {
+            lanes[domain.ordinal()] = new ArrayDeque<>();
+            waitTimes[domain.ordinal()] = new LatencyHistogram();
+        }
+        this.dispatched = new AtomicLongArray(DOMAINS.length);
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+        this.credits[0] = this.weights[0];
+        this.running = true;
+        this.worker = new Thread(this::runLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enqueues a task on a domain's lane, applying the overflow policy if the lane is full.
+     *
+     * @param domain The lane to enqueue on
+     * @param task The task to run
+     * @throws IllegalStateException if the scheduler has been shut down
+     */
+    void dispatch(@NotNull Domain domain, @NotNull Runnable task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        ArrayDeque<LaneTask> lane = lanes[domain.ordinal()];
+        boolean runOnCaller = false;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Scheduler has been shut down");
+            }
+            if (lane.size() >= laneCapacity && !makeRoom(lane)) {
+                if (overflowPolicy != OverflowPolicy.CALLER_RUNS) {
+                    return;
+                }
+                runOnCaller = true;
+            } else {
+                lane.addLast(new LaneTask(task, System.nanoTime()));
+                queued++;
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (runOnCaller) {
+            overflowCounters.callerRuns.increment();
+            task.run();
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting in a domain's lane.
+     */
+    int getLaneDepth(@NotNull Domain domain) {
+        lock.lock();
+        try {
+            return lanes[domain.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds depth, dispatch count and wait-time percentiles of every lane to a metrics map,
+     * under "lane.&lt;domain&gt;.".
+     */
+    void putInto(@NotNull Map<String, Object> metrics, boolean resetWaitTimes) {
+        for (Domain domain : DOMAINS) {
+            String prefix = "lane." + domain.name().toLowerCase();
+            metrics.put(prefix + ".depth", getLaneDepth(domain));
+            metrics.put(prefix + ".weight", weights[domain.ordinal()]);
+            metrics.put(prefix + ".dispatched", dispatched.get(domain.ordinal()));
+            waitTimes[domain.ordinal()].snapshot(resetWaitTimes).putInto(metrics, prefix + ".wait");
+        }
+    }
+
+    /**
+     * Stops accepting tasks, runs what is already queued, and waits up to the given timeout
+     * for the scheduler thread to finish.
+     */
+    void shutdown(long timeout, @NotNull TimeUnit unit) {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            TimeUnit.NANOSECONDS.timedJoin(worker, unit.toNanos(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Frees a slot in a full lane according to the overflow policy. Called with the lock held.
+     *
+     * @return true if the new task may be enqueued
+     */
+    private boolean makeRoom(ArrayDeque<LaneTask> lane) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                overflowCounters.dropped.increment();
+                return false;
+            case DROP_OLDEST:
+                lane.pollFirst();
+                queued--;
+                overflowCounters.dropped.increment();
+                return true;
+            case CALLER_RUNS:
+                return false;
+            default:
+                return awaitRoom(lane);
+        }
+    }
+
+    private boolean awaitRoom(ArrayDeque<LaneTask> lane) {
+        long remaining = overflowTimeoutNanos;
+        try {
+            while (lane.size() >= laneCapacity && running) {
+                if (remaining <= 0) {
+                    overflowCounters.timedOut.increment();
+                    overflowCounters.dropped.increment();
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching event", e);
+        }
+        if (!running) {
+            throw new IllegalStateException("Scheduler has been shut down");
+        }
+        overflowCounters.delayed.increment();
+        return true;
+    }
+
+    private void runLoop() {
+        while (true) {
+            LaneTask task;
+            int laneIndex;
+            lock.lock();
+            try {
+                while (queued == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    notEmpty.await();
+                }
+                laneIndex = nextLane();
+                task = lanes[laneIndex].pollFirst();
+                queued--;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            waitTimes[laneIndex].record(System.nanoTime() - task.enqueuedAt);
+            dispatched.incrementAndGet(laneIndex);
+            try {
+                task.task.run();
+            } catch (Exception e) {
+                // Keep the scheduler alive; a failing task must not stop later deliveries
+                LOG.log(Level.SEVERE, "Error dispatching event", e);
+            }
+        }
+    }
+
+    /**
+     * Picks the lane to serve next by deficit round robin. Called with the lock held and at
+     * least one task queued, so the loop ends within one round.
+     */
+    private int nextLane() {
+        while (true) {
+            if (!lanes[current].isEmpty() && credits[current] > 0) {
+                credits[current]--;
+                return current;
+            }
+            if (lanes[current].isEmpty()) {
+                // Idle lanes don't bank credit
+                credits[current] = 0;
+            }
+            current = (current + 1) % lanes.length;
+            credits[current] += weights[current];
+        }
+    }
+
+    private static final class LaneTask {
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        LaneTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.uplift.system.events;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Event bus that also correlates request events with their replies
+ */
+public interface RequestReplyBus extends EventBus {
+    /**
+     * Publish a request event and wait for one reply.
+     * The bus adds a correlation ID to the published payload; a subscriber answers by passing
+     * the payload it received to {@link #reply}.
+     * @param eventType The type of the request event
+     * @param payload Request data
+     * @param timeout How long to wait for the reply
+     * @return A future completed with the reply, or exceptionally with a TimeoutException
+     */
+    CompletableFuture<Map<String, Object>> request(String eventType, Map<String, Object> payload, Duration timeout);
+
+    /**
+     * Reply to a request received from {@link #request}.
+     * The reply goes straight to the waiting requester, not to subscribers.
+     * @param request The request payload as delivered to the subscriber
+     * @param reply Reply data
+     * @return false if the request has already timed out or been answered
+     */
+    boolean reply(Map<String, Object> request, Map<String, Object> reply);
+}
@@ -0,0 +1,315 @@
+package com.uplift.system.events;
+
+import com.uplift.system.config.SystemConfig;
+import org.jetbrains.annotations.NotNull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ring-buffer implementation of the EventBus interface, modelled on the disruptor pattern.
+ *
+ * <p>Events are written into a preallocated ring of mutable slots. Producers claim a sequence,
+ * fill the slot in place and mark it published; a single consumer thread catches up on every
+ * published slot in one batch and delivers it to the subscribers of the slot's event type.
+ * The publish path performs no allocation in steady state.
+ *
+ * <p>Payloads are handed to subscribers as published, without a defensive copy and without
+ * domain transformation. Publishers must not modify a payload after publishing it.
+ * When the ring is full, producers wait for the consumer to free a slot; a subscriber
+ * publishing into a full ring from the consumer thread, which is the only thread that frees
+ * slots, fails instead.
+ *
+ * <p>Shutdown seals the claim sequence: every sequence claimed before the seal is delivered,
+ * and a publish that claims one after it fails.
+ */
+public class RingBufferEventBus implements EventBus {
+
+    private static final Logger LOG = Logger.getLogger(RingBufferEventBus.class.getName());
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    /** Added to the claim sequence on shutdown; any claim at or above it is rejected */
+    private static final long SHUT_DOWN = 1L << 62;
+
+    private final EventSlot[] slots;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray publishedRounds;
+    private final AtomicLong claimSequence;
+    private final AtomicLong consumerSequence;
+    private final Map<String, Consumer<Map<String, Object>>[]> subscribers;
+    private final Thread consumer;
+    private volatile long lastSequence = Long.MAX_VALUE;
+    private volatile boolean running;
+
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder deliveredEvents = new LongAdder();
+    private final LongAdder consumerBatches = new LongAdder();
+    private final LongAdder producerWaits = new LongAdder();
+    private final LongAdder subscriberErrors = new LongAdder();
+    private final AtomicLong activeSubscribers = new AtomicLong();
+
+    /**
+     * Constructs a new RingBufferEventBus and starts its consumer thread.
+     *
+     * @param config The system configuration; {@code eventBus.ringBufferSize} sets the ring
+     *               capacity and is rounded up to a power of two
+     * @throws IllegalArgumentException if the configured ring size is not positive
+     */
+    public RingBufferEventBus(@NotNull SystemConfig config) {
+        Objects.requireNonNull(config, "Config must not be null");
+        int requestedSize = config.getIntValue("eventBus.ringBufferSize", 8192);
+        if (requestedSize <= 0) {
+            throw new IllegalArgumentException("Ring buffer size must be positive");
+        }
+        int capacity = requestedSize == 1 ? 1 : Integer.highestOneBit(requestedSize - 1) << 1;
+        this.slots = new EventSlot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new EventSlot();
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.publishedRounds = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedRounds.set(i, -1);
+        }
+        this.claimSequence = new AtomicLong(-1);
+        this.consumerSequence = new AtomicLong(-1);
+        this.subscribers = new ConcurrentHashMap<>();
+        this.running = true;
+        this.consumer = new Thread(this::consumeLoop, "ring-buffer-event-bus");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void publish(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payload, "Payload must not be null");
+
+        boolean onConsumer = Thread.currentThread() == consumer;
+        long sequence = onConsumer ? claimOnConsumer() : claimSequence.incrementAndGet();
+        if (sequence >= SHUT_DOWN) {
+            throw new IllegalStateException("Event bus has been shut down");
+        }
+        if (!onConsumer) {
+            awaitCapacity(sequence);
+        }
+
+        EventSlot slot = slots[(int) sequence & mask];
+        slot.eventType = eventType;
+        slot.payload = payload;
+        publishedRounds.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+        publishedEvents.increment();
+    }
+
+    @Override
+    public void subscribe(@NotNull String eventType, @NotNull Consumer<Map<String, Object>> listener) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(listener, "Listener must not be null");
+
+        subscribers.compute(eventType, (type, current) -> {
+            if (current == null) {
+                return newListenerArray(listener);
+            }
+            Consumer<Map<String, Object>>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            return updated;
+        });
+        activeSubscribers.incrementAndGet();
+    }
+
+    @Override
+    public void unsubscribe(@NotNull String eventType, @NotNull Consumer<Map<String, Object>> listener) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(listener, "Listener must not be null");
+
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(eventType, (type, current) -> {
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(listener)) {
+                    removed[0] = true;
+                    if (current.length == 1) {
+                        return null;
+                    }
+                    Consumer<Map<String, Object>>[] updated = Arrays.copyOf(current, current.length - 1);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    return updated;
+                }
+            }
+            return current;
+        });
+        if (removed[0]) {
+            activeSubscribers.decrementAndGet();
+        }
+    }
+
+    @Override
+    @NotNull
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> currentMetrics = new HashMap<>();
+        currentMetrics.put("totalEvents", publishedEvents.sum());
+        currentMetrics.put("deliveredEvents", deliveredEvents.sum());
+        currentMetrics.put("consumerBatches", consumerBatches.sum());
+        currentMetrics.put("producerWaits", producerWaits.sum());
+        currentMetrics.put("subscriberErrors", subscriberErrors.sum());
+        currentMetrics.put("activeSubscribers", activeSubscribers.get());
+        currentMetrics.put("ringCapacity", slots.length);
+        currentMetrics.put("ringBacklog", Math.min(claimSequence.get(), lastSequence) - consumerSequence.get());
+        return currentMetrics;
+    }
+
+    /**
+     * Stops the consumer after it has delivered every event published so far.
+     * Waits up to 60 seconds for the backlog to drain.
+     */
+    public synchronized void shutdown() {
+        if (running) {
+            // Claims made before the seal are delivered; later ones see SHUT_DOWN and fail
+            lastSequence = claimSequence.getAndAdd(SHUT_DOWN);
+            running = false;
+        }
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(60));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until the consumer has released the slot the given sequence wraps onto.
+     */
+    private void awaitCapacity(long sequence) {
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint <= consumerSequence.get()) {
+            return;
+        }
+        producerWaits.increment();
+        int tries = 0;
+        while (wrapPoint > consumerSequence.get()) {
+            tries = idle(tries);
+        }
+    }
+
+    /**
+     * Claims a sequence for a subscriber publishing from the consumer thread. Only the
+     * consumer frees slots, so it cannot wait for one; it fails if the ring is full.
+     */
+    private long claimOnConsumer() {
+        while (true) {
+            long current = claimSequence.get();
+            if (current + 1 >= SHUT_DOWN) {
+                return current + 1;
+            }
+            if (current + 1 - slots.length > consumerSequence.get()) {
+                throw new IllegalStateException("Ring buffer is full; the consumer thread cannot wait for capacity");
+            }
+            if (claimSequence.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private void consumeLoop() {
+        long next = consumerSequence.get() + 1;
+        int tries = 0;
+        while (true) {
+            long available = highestPublished(next, Math.min(claimSequence.get(), lastSequence));
+            if (available < next) {
+                // running is written after lastSequence, so the sealed sequence is visible here
+                if (!running && lastSequence < next) {
+                    return;
+                }
+                tries = idle(tries);
+                continue;
+            }
+            tries = 0;
+
+            // Batched catch-up: deliver every published slot before releasing them together
+            for (long sequence = next; sequence <= available; sequence++) {
+                EventSlot slot = slots[(int) sequence & mask];
+                dispatch(slot.eventType, slot.payload);
+                slot.clear();
+            }
+            deliveredEvents.add(available - next + 1);
+            consumerBatches.increment();
+            consumerSequence.lazySet(available);
+            next = available + 1;
+        }
+    }
+
+    /**
+     * Returns the highest sequence in [from, claimed] such that every slot up to it has been
+     * published, or {@code from - 1} if the slot at {@code from} is not published yet.
+     */
+    private long highestPublished(long from, long claimed) {
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (publishedRounds.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    private void dispatch(String eventType, Map<String, Object> payload) {
+        Consumer<Map<String, Object>>[] listeners = subscribers.get(eventType);
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<Map<String, Object>> listener : listeners) {
+            try {
+                listener.accept(payload);
+            } catch (Exception e) {
+                // Keep the consumer alive; one failing subscriber must not stall the ring
+                subscriberErrors.increment();
+                LOG.log(Level.SEVERE, "Error delivering event " + eventType, e);
+            }
+        }
+    }
+
+    /**
+     * Progressive back-off used by both producers and the consumer: spin, then yield,
+     * then park briefly.
+     */
+    private static int idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+            return tries;
+        }
+        return tries + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Map<String, Object>>[] newListenerArray(Consumer<Map<String, Object>> listener) {
+        return (Consumer<Map<String, Object>>[]) new Consumer<?>[] { listener };
+    }
+
+    /**
+     * Preallocated, mutable ring entry. Written by the claiming producer and read by the
+     * consumer; visibility is provided by the published-round marker.
+     */
+    private static final class EventSlot {
+        private String eventType;
+        private Map<String, Object> payload;
+
+        void clear() {
+            eventType = null;
+            payload = null;
+        }
+    }
+}
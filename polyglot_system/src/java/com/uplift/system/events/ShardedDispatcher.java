@@ -0,0 +1,356 @@
+package com.uplift.system.events;
+
+import com.uplift.system.events.DomainAwareEventBus.OverflowPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous dispatcher that runs delivery tasks on a fixed set of worker threads.
+ * Each worker owns a bounded queue (a shard); tasks submitted with the same shard key
+ * always land on the same shard, so they execute in submission order.
+ *
+ * <p>When a shard's queue is full, the configured {@link OverflowPolicy} decides what happens
+ * to the task; every outcome other than an immediate enqueue is counted in the shared
+ * {@link OverflowCounters}. A {@link DropAware} task is told when it is dropped or evicted.
+ */
+final class ShardedDispatcher {
+
+    /**
+     * A task that must know when it will not run, e.g. to release a claim it stands for.
+     */
+    interface DropAware extends Runnable {
+        /**
+         * Called on the dropping thread instead of {@link #run} when the task is dropped or
+         * evicted from its queue.
+         */
+        void dropped();
+    }
+
+    private static final Logger LOG = Logger.getLogger(ShardedDispatcher.class.getName());
+    private static final Runnable STOP = () -> { };
+    private static final Runnable NO_OP = () -> { };
+
+    private final Shard[] shards;
+    private final OverflowPolicy overflowPolicy;
+    private final long overflowTimeoutNanos;
+    private final OverflowCounters overflowCounters;
+    private final AtomicInteger dispatching;
+    private volatile boolean running;
+
+    /**
+     * Creates and starts a dispatcher.
+     *
+     * @param name Prefix used for worker thread names
+     * @param shardCount Number of shards (one worker thread each)
+     * @param queueCapacity Capacity of each shard's queue
+     * @param overflowPolicy What to do with a task when its shard is full
+     * @param overflowTimeoutNanos How long {@link OverflowPolicy#BLOCK} waits before dropping
+     * @param overflowCounters Counters updated when the overflow policy applies
+     * @throws IllegalArgumentException if shardCount or queueCapacity is not positive
+     */
+    ShardedDispatcher(
+            @NotNull String name,
+            int shardCount,
+            int queueCapacity,
+            @NotNull OverflowPolicy overflowPolicy,
+            long overflowTimeoutNanos,
+            @NotNull OverflowCounters overflowCounters) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy must not be null");
+        this.overflowTimeoutNanos = overflowTimeoutNanos;
+        this.overflowCounters = Objects.requireNonNull(overflowCounters, "Overflow counters must not be null");
+        this.dispatching = new AtomicInteger();
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(name + "-" + i, queueCapacity);
+        }
+        this.running = true;
+        for (Shard shard : shards) {
+            shard.worker.start();
+        }
+    }
+
+    /**
+     * Enqueues a task on the shard selected by the key, applying the overflow policy
+     * if that shard is full.
+     *
+     * @param shardKey Key that selects the shard; equal keys preserve ordering
+     * @param task The task to run
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    void dispatch(@NotNull Object shardKey, @NotNull Runnable task) {
+        dispatch(shardKey, null, task);
+    }
+
+    /**
+     * Enqueues a task on the shard selected by the key. Under {@link OverflowPolicy#CONFLATE},
+     * a task with a conflation key replaces a still-queued task with an equal key instead of
+     * taking another queue slot.
+     *
+     * @param shardKey Key that selects the shard; equal keys preserve ordering
+     * @param conflationKey Key identifying tasks that supersede each other, or null
+     * @param task The task to run
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    void dispatch(@NotNull Object shardKey, @Nullable Object conflationKey, @NotNull Runnable task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        // Registered before running is read, so shutdown waits for this task to be queued
+        // before it queues STOP behind it
+        dispatching.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Dispatcher has been shut down");
+            }
+            Shard shard = shardFor(shardKey);
+            if (overflowPolicy == OverflowPolicy.CONFLATE && conflationKey != null) {
+                dispatchConflated(shard, conflationKey, task);
+                return;
+            }
+            if (!shard.queue.offer(task)) {
+                handleOverflow(shard, task);
+            }
+        } finally {
+            dispatching.decrementAndGet();
+        }
+    }
+
+    /**
+     * Enqueues a task only if its shard has room, without applying the overflow policy, for
+     * callers that must neither wait nor run the task themselves.
+     *
+     * @param shardKey Key that selects the shard; equal keys preserve ordering
+     * @param task The task to run
+     * @return false if the shard is full
+     * @throws IllegalStateException if the dispatcher has been shut down
+     */
+    boolean tryDispatch(@NotNull Object shardKey, @NotNull Runnable task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        dispatching.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Dispatcher has been shut down");
+            }
+            return shardFor(shardKey).queue.offer(task);
+        } finally {
+            dispatching.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting across all shards.
+     */
+    int getQueueDepth() {
+        int depth = 0;
+        for (Shard shard : shards) {
+            depth += shard.queue.size();
+        }
+        return depth;
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stops accepting tasks, lets every shard drain what is already queued, and waits
+     * up to the given timeout for the workers to finish. A dispatch that was accepted before
+     * shutdown started is queued ahead of the stop marker, so it still runs.
+     */
+    void shutdown(long timeout, @NotNull TimeUnit unit) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        // Dispatches that saw running before it was cleared finish queueing first
+        while (dispatching.get() != 0 && deadline - System.nanoTime() > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.queue.put(STOP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Shard shard : shards) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(shard.worker, remaining);
+                }
+                if (shard.worker.isAlive()) {
+                    shard.worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                shard.worker.interrupt();
+            }
+        }
+    }
+
+    private void handleOverflow(Shard shard, Runnable task) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                drop(task, overflowCounters);
+                break;
+            case DROP_OLDEST:
+                // Evict queued tasks until the new one fits; another producer may refill the slot
+                while (!shard.queue.offer(task)) {
+                    Runnable evicted = shard.queue.poll();
+                    if (evicted != null) {
+                        drop(evicted, overflowCounters);
+                    }
+                }
+                break;
+            case CALLER_RUNS:
+                overflowCounters.callerRuns.increment();
+                task.run();
+                break;
+            default:
+                // BLOCK, and CONFLATE for tasks without a conflation key
+                blockUntilQueued(shard, task);
+                break;
+        }
+    }
+
+    /**
+     * Waits up to the overflow timeout for queue space; returns false if the task was dropped.
+     */
+    private boolean blockUntilQueued(Shard shard, Runnable task) {
+        try {
+            if (shard.queue.offer(task, overflowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                overflowCounters.delayed.increment();
+                return true;
+            }
+            overflowCounters.timedOut.increment();
+            drop(task, overflowCounters);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching event", e);
+        }
+    }
+
+    /**
+     * Counts a task that will not run and tells it so if it is {@link DropAware}.
+     */
+    static void drop(@NotNull Runnable task, @NotNull OverflowCounters overflowCounters) {
+        overflowCounters.dropped.increment();
+        if (task instanceof DropAware) {
+            ((DropAware) task).dropped();
+        }
+    }
+
+    private void dispatchConflated(Shard shard, Object conflationKey, Runnable task) {
+        ConflatedTask pending = shard.pending.get(conflationKey);
+        if (pending != null && pending.replace(task)) {
+            overflowCounters.conflated.increment();
+            return;
+        }
+        ConflatedTask fresh = new ConflatedTask(conflationKey, task);
+        shard.pending.put(conflationKey, fresh);
+        if (!shard.queue.offer(fresh) && !blockUntilQueued(shard, fresh)) {
+            shard.pending.remove(conflationKey, fresh);
+        }
+    }
+
+    private Shard shardFor(Object shardKey) {
+        int hash = shardKey.hashCode();
+        // Spread the hash so keys differing only in high bits don't collide
+        hash ^= (hash >>> 16);
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    private static final class Shard {
+        private final BlockingQueue<Runnable> queue;
+        private final Map<Object, ConflatedTask> pending;
+        private final Thread worker;
+
+        Shard(String name, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.pending = new ConcurrentHashMap<>();
+            this.worker = new Thread(this::runLoop, name);
+            this.worker.setDaemon(true);
+        }
+
+        private void runLoop() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task == STOP) {
+                    return;
+                }
+                if (task instanceof ConflatedTask) {
+                    ConflatedTask conflated = (ConflatedTask) task;
+                    pending.remove(conflated.key, conflated);
+                    task = conflated.take();
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    // Keep the shard alive; a failing task must not stop later deliveries
+                    LOG.log(Level.SEVERE, "Error dispatching event", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queue entry whose task can be swapped for a newer one until a worker takes it.
+     */
+    private static final class ConflatedTask implements Runnable {
+        private final Object key;
+        private final AtomicReference<Runnable> task;
+
+        ConflatedTask(Object key, Runnable task) {
+            this.key = key;
+            this.task = new AtomicReference<>(task);
+        }
+
+        /**
+         * Replaces the queued task; fails once a worker has taken it.
+         */
+        boolean replace(Runnable newer) {
+            Runnable current;
+            do {
+                current = task.get();
+                if (current == null) {
+                    return false;
+                }
+            } while (!task.compareAndSet(current, newer));
+            return true;
+        }
+
+        Runnable take() {
+            Runnable taken = task.getAndSet(null);
+            return taken != null ? taken : NO_OP;
+        }
+
+        @Override
+        public void run() {
+            take().run();
+        }
+    }
+}
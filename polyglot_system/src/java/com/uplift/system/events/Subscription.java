@@ -0,0 +1,130 @@
+package com.uplift.system.events;
+
+import com.uplift.system.events.DomainAwareEventBus.Domain;
+import com.uplift.system.events.DomainAwareEventBus.ExecutionMode;
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A registered listener together with the metadata it was registered with.
+ * The registration sequence breaks priority ties so dispatch order is stable.
+ *
+ * <p>Each subscription also keeps an exponentially weighted moving average of its invocation
+ * latency, seeded with the first sample and then weighting each new sample by 1/8, and whether
+ * it is quarantined for being slow. The average is volatile so every delivering thread reads
+ * a whole value; concurrent deliveries may still overwrite each other's update, which only
+ * delays a quarantine decision by a sample.
+ */
+final class Subscription {
+    private final Consumer<Map<String, Object>> listener;
+    private final SubscriptionOptions options;
+    private final long sequence;
+    private final ConflatingMailbox mailbox;
+    private final boolean retainsPayloads;
+    private final AtomicBoolean quarantined;
+    private volatile long averageLatencyNanos = -1;
+
+    Subscription(@NotNull Consumer<Map<String, Object>> listener, @NotNull SubscriptionOptions options, long sequence) {
+        this(listener, options, sequence, false);
+    }
+
+    /**
+     * @param retainsPayloads Whether the listener keeps payloads beyond its invocation
+     */
+    Subscription(
+            @NotNull Consumer<Map<String, Object>> listener,
+            @NotNull SubscriptionOptions options,
+            long sequence,
+            boolean retainsPayloads) {
+        this.listener = listener;
+        this.options = options;
+        this.sequence = sequence;
+        this.retainsPayloads = retainsPayloads;
+        this.mailbox = options.isConflating() ? new ConflatingMailbox(options.getConflationKey()) : null;
+        this.quarantined = new AtomicBoolean();
+    }
+
+    Consumer<Map<String, Object>> getListener() {
+        return listener;
+    }
+
+    SubscriptionOptions getOptions() {
+        return options;
+    }
+
+    Domain getDomain() {
+        return options.getDomain();
+    }
+
+    /**
+     * The mode deliveries actually run in. Conflating subscriptions need a pending state to
+     * conflate into, so an inline conflating subscription is delivered on a worker lane.
+     */
+    ExecutionMode getExecutionMode() {
+        ExecutionMode mode = options.getExecutionMode();
+        return mode == ExecutionMode.INLINE && mailbox != null ? ExecutionMode.ASYNC : mode;
+    }
+
+    /**
+     * Pending-state mailbox of a conflating subscription, or null.
+     */
+    ConflatingMailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Whether the listener keeps payloads after it returns, like a buffering Flow subscriber.
+     */
+    boolean retainsPayloads() {
+        return retainsPayloads;
+    }
+
+    /**
+     * Adds an invocation latency to the moving average.
+     *
+     * @return The updated average in nanoseconds
+     */
+    long recordLatency(long latencyNanos) {
+        long previous = averageLatencyNanos;
+        long average = previous < 0 ? latencyNanos : previous + ((latencyNanos - previous) >> 3);
+        averageLatencyNanos = average;
+        return average;
+    }
+
+    /**
+     * @return The average in nanoseconds, or 0 before the first delivery
+     */
+    long getAverageLatencyNanos() {
+        return Math.max(averageLatencyNanos, 0);
+    }
+
+    boolean isQuarantined() {
+        return quarantined.get();
+    }
+
+    /**
+     * @return true if this call moved the subscription into quarantine
+     */
+    boolean quarantine() {
+        return !quarantined.get() && quarantined.compareAndSet(false, true);
+    }
+
+    /**
+     * @return true if this call moved the subscription out of quarantine
+     */
+    boolean release() {
+        return quarantined.get() && quarantined.compareAndSet(true, false);
+    }
+
+    /**
+     * Orders subscriptions by descending priority, then by registration order.
+     */
+    boolean dispatchesBefore(@NotNull Subscription other) {
+        if (options.getPriority() != other.options.getPriority()) {
+            return options.getPriority() > other.options.getPriority();
+        }
+        return sequence < other.sequence;
+    }
+}
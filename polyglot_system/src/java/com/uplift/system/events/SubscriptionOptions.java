@@ -0,0 +1,129 @@
+package com.uplift.system.events;
+
+import com.uplift.system.events.DomainAwareEventBus.Domain;
+import com.uplift.system.events.DomainAwareEventBus.ExecutionMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Registration metadata for a subscriber of the {@link DomainAwareEventBus}.
+ * Declares the domain the subscriber expects payloads in, its priority relative to other
+ * subscribers of the same event type, the thread it is invoked on, optionally a payload
+ * field to conflate undelivered events by, and content filters that must all hold for an
+ * event to be delivered.
+ */
+public final class SubscriptionOptions {
+    private static final SubscriptionOptions DEFAULTS = new Builder().build();
+
+    private final Domain domain;
+    private final int priority;
+    private final ExecutionMode executionMode;
+    private final String conflationKey;
+    private final List<PayloadPredicate> filters;
+
+    private SubscriptionOptions(Builder builder) {
+        this.domain = Objects.requireNonNull(builder.domain, "Domain must not be null");
+        this.priority = builder.priority;
+        this.executionMode = Objects.requireNonNull(builder.executionMode, "Execution mode must not be null");
+        this.conflationKey = builder.conflationKey;
+        this.filters = builder.filters.isEmpty()
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(new ArrayList<>(builder.filters));
+    }
+
+    /**
+     * Options used by {@link DomainAwareEventBus#subscribe(String, java.util.function.Consumer)}:
+     * computational domain, priority 0, inline execution.
+     *
+     * @return The default options
+     */
+    @NotNull
+    public static SubscriptionOptions defaults() {
+        return DEFAULTS;
+    }
+
+    @NotNull
+    public Domain getDomain() {
+        return domain;
+    }
+
+    /**
+     * Subscribers with a higher priority are invoked first; equal priorities keep
+     * registration order.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    @NotNull
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Payload field that identifies "latest state" events, or null if the subscription is not
+     * conflating. A conflating subscription is never invoked on the publishing thread; an
+     * undelivered event is replaced by a newer one with the same field value.
+     */
+    @Nullable
+    public String getConflationKey() {
+        return conflationKey;
+    }
+
+    public boolean isConflating() {
+        return conflationKey != null;
+    }
+
+    /**
+     * Content filters of the subscription; an event is delivered only if every filter holds.
+     * Filters are checked against the payload as published, before domain transformation.
+     */
+    @NotNull
+    public List<PayloadPredicate> getFilters() {
+        return filters;
+    }
+
+    /**
+     * Builder for creating SubscriptionOptions instances.
+     */
+    public static class Builder {
+        private Domain domain = Domain.COMPUTATIONAL;
+        private int priority;
+        private ExecutionMode executionMode = ExecutionMode.INLINE;
+        private String conflationKey;
+        private final List<PayloadPredicate> filters = new ArrayList<>();
+
+        public Builder domain(Domain domain) {
+            this.domain = domain;
+            return this;
+        }
+
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder executionMode(ExecutionMode executionMode) {
+            this.executionMode = executionMode;
+            return this;
+        }
+
+        public Builder conflateBy(String payloadField) {
+            this.conflationKey = payloadField;
+            return this;
+        }
+
+        public Builder where(PayloadPredicate filter) {
+            filters.add(Objects.requireNonNull(filter, "Filter must not be null"));
+            return this;
+        }
+
+        public SubscriptionOptions build() {
+            return new SubscriptionOptions(this);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timer wheel that runs many short tasks, such as request timeouts, from one thread.
+ *
+ * <p>Time is divided into ticks, and each timeout lives in the bucket of the tick in which it
+ * falls due, counting full turns of the wheel as rounds. The timer thread wakes once per tick
+ * and expires the timeouts of one bucket, so scheduling and cancelling cost O(1) however many
+ * timeouts are pending, at the price of firing up to one tick late. Schedulers and cancellers
+ * only append to lock-free queues; the timer thread alone links timeouts into buckets and
+ * unlinks them. While nothing is pending the thread parks instead of ticking.
+ *
+ * <p>Tasks run on the timer thread and must be short; a task that throws is logged and the
+ * wheel keeps running.
+ */
+final class TimerWheel {
+
+    private static final Logger LOG = Logger.getLogger(TimerWheel.class.getName());
+
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final Queue<Timeout> scheduled;
+    private final Queue<Timeout> cancelled;
+    private final AtomicInteger pending;
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean running;
+    private long tick;
+
+    /**
+     * Creates and starts a timer wheel.
+     *
+     * @param name Name of the timer thread
+     * @param tickNanos Length of one tick; timeouts fire up to one tick late
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     * @throws IllegalArgumentException if the tick length or wheel size is not positive
+     */
+    TimerWheel(@NotNull String name, long tickNanos, int wheelSize) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 1048576");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = tickNanos;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.scheduled = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.startTime = System.nanoTime();
+        this.running = true;
+        this.worker = new Thread(this::runLoop, Objects.requireNonNull(name, "Name must not be null"));
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed.
+     *
+     * @param delayNanos Delay before the task runs
+     * @param task The task to run on the timer thread
+     * @return A handle that can cancel the task
+     * @throws IllegalStateException if the wheel has been shut down
+     */
+    @NotNull
+    Timeout schedule(long delayNanos, @NotNull Runnable task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        if (!running) {
+            throw new IllegalStateException("Timer wheel has been shut down");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(delayNanos, 0);
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        LockSupport.unpark(worker);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of tasks that are scheduled and neither run nor cancelled.
+     */
+    int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the timer thread. Tasks that have not run yet are dropped.
+     */
+    void shutdown(long timeout, @NotNull TimeUnit unit) {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            TimeUnit.NANOSECONDS.timedJoin(worker, unit.toNanos(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        while (awaitNextTick()) {
+            unlinkCancelled();
+            linkScheduled();
+            expire((int) (tick & mask));
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the current tick has passed, or while nothing is pending.
+     *
+     * @return false once the wheel is shut down
+     */
+    private boolean awaitNextTick() {
+        while (running) {
+            if (pending.get() == 0) {
+                unlinkCancelled();
+                LockSupport.park(this);
+                // Nothing is linked into a bucket, so the wheel can skip the idle ticks
+                tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+                continue;
+            }
+            long remaining = tickNanos * (tick + 1) - (System.nanoTime() - startTime);
+            if (remaining <= 0) {
+                return true;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        return false;
+    }
+
+    private void linkScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state != Timeout.WAITING) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.rounds = (dueTick - tick) / buckets.length;
+            // A timeout that is already due fires at the end of the current tick
+            int index = (int) (Math.max(dueTick, tick) & mask);
+            timeout.bucket = index;
+            timeout.next = buckets[index];
+            if (timeout.next != null) {
+                timeout.next.prev = timeout;
+            }
+            buckets[index] = timeout;
+        }
+    }
+
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            unlink(timeout);
+        }
+    }
+
+    private void expire(int index) {
+        Timeout timeout = buckets[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state == Timeout.CANCELLED) {
+                unlink(timeout);
+            } else if (timeout.rounds <= 0) {
+                unlink(timeout);
+                if (Timeout.STATE.compareAndSet(timeout, Timeout.WAITING, Timeout.EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        timeout.task.run();
+                    } catch (Exception e) {
+                        LOG.log(Level.SEVERE, "Error running timer task", e);
+                    }
+                }
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.bucket < 0) {
+            return;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    /**
+     * A scheduled task. Bucket links are only touched by the timer thread.
+     */
+    final class Timeout {
+        private static final int WAITING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state;
+        private long rounds;
+        private int bucket = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if this call cancelled the task
+         */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.uplift.system.events;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Trie of wildcard subscriptions keyed by dot-separated topic segments.
+ * A "*" segment matches exactly one segment of an event type and a "#" segment matches
+ * zero or more, so "cognitive.*" matches "cognitive.state" and "*.update.#" matches
+ * "memory.update" as well as "memory.update.working.slot".
+ *
+ * <p>Matching walks one trie path per event type segment instead of testing every pattern.
+ * The trie is not thread-safe; the bus mutates and queries it under its registration lock
+ * and caches the result per concrete event type.
+ */
+final class TopicTrie {
+    private static final String ONE_SEGMENT = "*";
+    private static final String ANY_SEGMENTS = "#";
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Returns whether a subscription topic contains a wildcard segment.
+     */
+    static boolean isPattern(@NotNull String topic) {
+        int start = 0;
+        while (start <= topic.length()) {
+            int end = topic.indexOf('.', start);
+            if (end < 0) {
+                end = topic.length();
+            }
+            if (end - start == 1 && (topic.charAt(start) == '*' || topic.charAt(start) == '#')) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a pattern matches a concrete event type.
+     */
+    static boolean matches(@NotNull String pattern, @NotNull String eventType) {
+        return matches(split(pattern), 0, split(eventType), 0);
+    }
+
+    void add(@NotNull String pattern, @NotNull Subscription subscription) {
+        Node node = root;
+        for (String segment : split(pattern)) {
+            node = node.childFor(segment);
+        }
+        node.table = node.table.with(subscription);
+        size++;
+    }
+
+    /**
+     * Removes the first subscription registered for the listener under the pattern.
+     *
+     * @return true if a subscription was removed
+     */
+    boolean remove(@NotNull String pattern, @NotNull Consumer<Map<String, Object>> listener) {
+        String[] segments = split(pattern);
+        List<Node> path = new ArrayList<>(segments.length + 1);
+        Node node = root;
+        path.add(node);
+        for (String segment : segments) {
+            node = node.existingChild(segment);
+            if (node == null) {
+                return false;
+            }
+            path.add(node);
+        }
+        DispatchTable updated = node.table.without(listener);
+        if (updated == node.table) {
+            return false;
+        }
+        node.table = updated;
+        size--;
+        // Prune nodes left without subscriptions or children
+        for (int i = segments.length; i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).removeChild(segments[i - 1]);
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Collects every wildcard subscription whose pattern matches the event type.
+     * A subscription reachable through several paths is returned once.
+     */
+    @NotNull
+    Set<Subscription> match(@NotNull String eventType) {
+        if (size == 0) {
+            return Collections.emptySet();
+        }
+        Set<Subscription> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(root, split(eventType), 0, matched);
+        return matched;
+    }
+
+    private static void collect(Node node, String[] segments, int index, Set<Subscription> matched) {
+        if (node.anySegments != null) {
+            // "#" may absorb any number of the remaining segments, including none
+            for (int next = index; next <= segments.length; next++) {
+                collect(node.anySegments, segments, next, matched);
+            }
+        }
+        if (index == segments.length) {
+            Collections.addAll(matched, node.table.subscriptions());
+            return;
+        }
+        if (node.children != null) {
+            Node child = node.children.get(segments[index]);
+            if (child != null) {
+                collect(child, segments, index + 1, matched);
+            }
+        }
+        if (node.oneSegment != null) {
+            collect(node.oneSegment, segments, index + 1, matched);
+        }
+    }
+
+    private static boolean matches(String[] pattern, int p, String[] type, int t) {
+        if (p == pattern.length) {
+            return t == type.length;
+        }
+        if (ANY_SEGMENTS.equals(pattern[p])) {
+            for (int next = t; next <= type.length; next++) {
+                if (matches(pattern, p + 1, type, next)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (t == type.length) {
+            return false;
+        }
+        return (ONE_SEGMENT.equals(pattern[p]) || pattern[p].equals(type[t])) && matches(pattern, p + 1, type, t + 1);
+    }
+
+    private static String[] split(String topic) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = topic.indexOf('.', start)) >= 0) {
+            segments.add(topic.substring(start, end));
+            start = end + 1;
+        }
+        segments.add(topic.substring(start));
+        return segments.toArray(new String[0]);
+    }
+
+    private static final class Node {
+        private Map<String, Node> children;
+        private Node oneSegment;
+        private Node anySegments;
+        private DispatchTable table = DispatchTable.EMPTY;
+
+        Node childFor(String segment) {
+            if (ONE_SEGMENT.equals(segment)) {
+                if (oneSegment == null) {
+                    oneSegment = new Node();
+                }
+                return oneSegment;
+            }
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (anySegments == null) {
+                    anySegments = new Node();
+                }
+                return anySegments;
+            }
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node existingChild(String segment) {
+            if (ONE_SEGMENT.equals(segment)) {
+                return oneSegment;
+            }
+            if (ANY_SEGMENTS.equals(segment)) {
+                return anySegments;
+            }
+            return children != null ? children.get(segment) : null;
+        }
+
+        void removeChild(String segment) {
+            if (ONE_SEGMENT.equals(segment)) {
+                oneSegment = null;
+            } else if (ANY_SEGMENTS.equals(segment)) {
+                anySegments = null;
+            } else if (children != null) {
+                children.remove(segment);
+            }
+        }
+
+        boolean isEmpty() {
+            return table.isEmpty() && oneSegment == null && anySegments == null
+                && (children == null || children.isEmpty());
+        }
+    }
+}
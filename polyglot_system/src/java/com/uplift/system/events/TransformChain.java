@@ -0,0 +1,75 @@
+package com.uplift.system.events;
+
+import com.uplift.system.events.DomainAwareEventBus.Domain;
+import com.uplift.system.events.DomainAwareEventBus.DomainTransformer;
+import org.jetbrains.annotations.NotNull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, fused sequence of the transformers registered for one (source, target) domain
+ * pair. Registration builds a new chain, so applying one is a straight walk over an array.
+ *
+ * <p>Every stage that is not declared pure is given a map the chain owns, so it cannot modify
+ * the publisher's payload. Consecutive stages share one working map: the chain copies the
+ * payload once, before the first such stage of a run, and a stage that returns the map it was
+ * given passes it on. A map returned in place of the one given may be immutable or shared, so
+ * the next impure stage works on a fresh copy again. Pure stages are never copied for.
+ */
+final class TransformChain {
+    private final DomainTransformer[] stages;
+    private final boolean[] pure;
+
+    private TransformChain(DomainTransformer[] stages, boolean[] pure) {
+        this.stages = stages;
+        this.pure = pure;
+    }
+
+    /**
+     * Returns a chain of the given transformer alone.
+     */
+    @NotNull
+    static TransformChain of(@NotNull DomainTransformer transformer) {
+        return new TransformChain(new DomainTransformer[] {transformer}, new boolean[] {isPure(transformer)});
+    }
+
+    /**
+     * Returns a chain that runs the given transformer after this chain's stages.
+     */
+    @NotNull
+    TransformChain with(@NotNull DomainTransformer transformer) {
+        DomainTransformer[] updatedStages = Arrays.copyOf(stages, stages.length + 1);
+        boolean[] updatedPure = Arrays.copyOf(pure, pure.length + 1);
+        updatedStages[stages.length] = transformer;
+        updatedPure[stages.length] = isPure(transformer);
+        return new TransformChain(updatedStages, updatedPure);
+    }
+
+    private static boolean isPure(DomainTransformer transformer) {
+        return transformer.isPure() && !transformer.isInPlace();
+    }
+
+    /**
+     * Runs every stage over the payload, which is left unmodified.
+     *
+     * @return The transformed payload
+     */
+    @NotNull
+    Map<String, Object> apply(@NotNull Map<String, Object> payload, @NotNull Domain sourceDomain, @NotNull Domain targetDomain) {
+        Map<String, Object> current = payload;
+        // Whether current is a copy the chain made itself and may mutate
+        boolean owned = false;
+        for (int i = 0; i < stages.length; i++) {
+            Map<String, Object> input = current;
+            if (!pure[i] && !owned) {
+                input = new HashMap<>(current);
+                owned = true;
+            }
+            current = stages[i].transform(input, sourceDomain, targetDomain);
+            // Only the owned map coming back stays owned
+            owned = owned && current == input;
+        }
+        return current;
+    }
+}
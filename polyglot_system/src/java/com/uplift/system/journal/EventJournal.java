@@ -0,0 +1,550 @@
+package com.uplift.system.journal;
+
+import com.uplift.system.codec.PayloadCodec;
+import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import com.uplift.system.monitoring.CounterRegistry.Gauge;
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only, memory-mapped journal of published events.
+ *
+ * <p>Events are written to preallocated segment files ({@link JournalSegment}) holding
+ * {@code journal.segmentSize} bytes each and encoded with {@link PayloadCodec}. Every event gets
+ * a sequential offset. An append only copies the encoded record into the mapped active
+ * segment; a background thread forces dirty segments to disk every {@code journal.syncInterval}
+ * or sooner when a caller waits in {@link #awaitDurable}, so concurrent callers share one
+ * {@code force()} (group commit).
+ *
+ * <p>The same thread maps the next segment once the active one is half full, so rolling over
+ * is a pointer swap on the append path. It also enforces retention: the oldest sealed segments
+ * are deleted while the journal exceeds {@code journal.retentionBytes} or once their newest
+ * record is older than {@code journal.retentionAge}.
+ *
+ * <p>{@link #replay} scans records sequentially from any retained offset, locating its starting
+ * record through each segment's sparse offset index. Replayed payloads are lazy views over the
+ * mapped record, so a consumer that reads a few fields doesn't decode the rest.
+ */
+public final class EventJournal implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(EventJournal.class.getName());
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long RETENTION_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final long syncIntervalMillis;
+    private final long retentionBytes;
+    private final long retentionAgeMillis;
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments;
+    private final ConcurrentLinkedQueue<JournalSegment> unsyncedSealed;
+    private final ReentrantLock appendLock;
+    private final Object syncMonitor;
+    private final Thread maintenanceThread;
+    private final Counter appended;
+    private final Counter appendedBytes;
+    private final Counter syncs;
+    private final Counter rollStalls;
+    private final Counter deletedSegments;
+    private final Gauge durableOffsetGauge;
+    private final CounterRegistry metrics;
+    private volatile JournalSegment active;
+    private final AtomicReference<JournalSegment> prepared;
+    private long nextSequence;
+    private long nextOffset;
+    private volatile long durableOffset;
+    private boolean syncRequested;
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    private EventJournal(Path directory, SystemConfig config) {
+        this.directory = directory;
+        this.segmentSize = config.getIntValue("journal.segmentSize", 64 * 1024 * 1024);
+        this.indexInterval = config.getIntValue("journal.indexInterval", 4096);
+        this.syncIntervalMillis = Math.max(1, config.getDurationValue("journal.syncInterval", Duration.ofMillis(10)).toMillis());
+        this.retentionBytes = config.getLongValue("journal.retentionBytes", 1024L * 1024 * 1024);
+        this.retentionAgeMillis = config.getDurationValue("journal.retentionAge", Duration.ofDays(7)).toMillis();
+        if (segmentSize < JournalSegment.HEADER_SIZE + 1024) {
+            throw new IllegalArgumentException("Journal segment size is too small");
+        }
+        this.segments = new ConcurrentSkipListMap<>();
+        this.unsyncedSealed = new ConcurrentLinkedQueue<>();
+        this.prepared = new AtomicReference<>();
+        this.appendLock = new ReentrantLock();
+        this.syncMonitor = new Object();
+        this.metrics = new CounterRegistry();
+        this.appended = metrics.counter("journal.appended");
+        this.appendedBytes = metrics.counter("journal.appendedBytes");
+        this.syncs = metrics.counter("journal.syncs");
+        this.rollStalls = metrics.counter("journal.rollStalls");
+        this.deletedSegments = metrics.counter("journal.deletedSegments");
+        this.durableOffsetGauge = metrics.gauge("journal.durableOffset");
+        this.maintenanceThread = new Thread(this::runMaintenance, "event-journal-sync");
+        this.maintenanceThread.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in {@code journal.directory}, recovering existing segments.
+     *
+     * @param config The system configuration
+     * @return The opened journal
+     * @throws IOException if the directory or a segment cannot be read
+     */
+    @NotNull
+    public static EventJournal open(@NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(config, "Config must not be null");
+        return open(Paths.get(config.getSetting("journal.directory", "data/journal").toString()), config);
+    }
+
+    /**
+     * Opens the journal in the given directory, recovering existing segments.
+     *
+     * @param directory The directory holding the segment files; created if missing
+     * @param config The system configuration supplying the journal settings
+     * @return The opened journal
+     * @throws IOException if the directory or a segment cannot be read
+     */
+    @NotNull
+    public static EventJournal open(@NotNull Path directory, @NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(directory, "Directory must not be null");
+        Objects.requireNonNull(config, "Config must not be null");
+        Files.createDirectories(directory);
+        EventJournal journal = new EventJournal(directory, config);
+        journal.recover();
+        journal.running = true;
+        journal.maintenanceThread.start();
+        return journal;
+    }
+
+    /**
+     * Appends an event. The record is visible to {@link #replay} immediately and durable
+     * after the next background sync; use {@link #awaitDurable} to wait for that.
+     *
+     * @param eventType The event type
+     * @param payload The event payload
+     * @return The offset assigned to the event
+     * @throws IllegalArgumentException if the payload cannot be encoded or exceeds a segment
+     * @throws IllegalStateException if the journal has been closed
+     */
+    public long append(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payload, "Payload must not be null");
+        // Encode outside the lock so producers only serialize on the copy into the mapping
+        byte[] type = eventType.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = encode(type, payload);
+        long timestamp = System.currentTimeMillis();
+        appendLock.lock();
+        try {
+            checkRunning();
+            return appendEncoded(timestamp, type, encoded);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of events of one type at consecutive offsets. Every payload is encoded
+     * before the first is appended, so a payload that cannot be journaled leaves the journal
+     * unchanged.
+     *
+     * @param eventType The event type
+     * @param payloads The event payloads, in order
+     * @return The offset assigned to the first event, or the next offset if the batch is empty
+     * @throws IllegalArgumentException if a payload cannot be encoded or exceeds a segment
+     * @throws IllegalStateException if the journal has been closed
+     */
+    public long appendAll(@NotNull String eventType, @NotNull List<Map<String, Object>> payloads) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payloads, "Payloads must not be null");
+        byte[] type = eventType.getBytes(StandardCharsets.UTF_8);
+        byte[][] encoded = new byte[payloads.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(type, Objects.requireNonNull(payloads.get(i), "Payload must not be null"));
+        }
+        long timestamp = System.currentTimeMillis();
+        appendLock.lock();
+        try {
+            checkRunning();
+            long first = nextOffset;
+            for (byte[] record : encoded) {
+                appendEncoded(timestamp, type, record);
+            }
+            return first;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Encodes a payload and checks that its record fits in an empty segment.
+     */
+    private byte[] encode(byte[] type, Map<String, Object> payload) {
+        byte[] encoded = PayloadCodec.encode(payload);
+        // An empty segment holds its header, the record and the four-byte end marker
+        long recordSize = JournalSegment.RECORD_OVERHEAD + 20L + type.length + encoded.length;
+        if (JournalSegment.HEADER_SIZE + recordSize + 4 > segmentSize) {
+            throw new IllegalArgumentException("Event of " + encoded.length + " bytes exceeds the journal segment size");
+        }
+        return encoded;
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new IllegalStateException("Journal has been closed");
+        }
+    }
+
+    /**
+     * Appends an encoded record at the next offset, rolling to a new segment if the active
+     * one is full. Must be called while holding the append lock.
+     */
+    private long appendEncoded(long timestamp, byte[] type, byte[] encoded) {
+        long offset = nextOffset;
+        if (!active.append(offset, timestamp, type, encoded)) {
+            roll();
+            if (!active.append(offset, timestamp, type, encoded)) {
+                throw new IllegalArgumentException("Event of " + encoded.length + " bytes exceeds the journal segment size");
+            }
+        }
+        nextOffset = offset + 1;
+        appended.increment();
+        appendedBytes.add(JournalSegment.RECORD_OVERHEAD + 20 + type.length + encoded.length);
+        return offset;
+    }
+
+    /**
+     * Waits until every event up to and including the offset has been forced to disk.
+     * Callers waiting at the same time are satisfied by a single sync.
+     *
+     * @param offset The offset that must be durable
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalArgumentException if no event has been appended at the offset yet
+     * @throws IllegalStateException if the journal is closed before the offset is durable
+     */
+    public void awaitDurable(long offset) throws InterruptedException {
+        // A sync never covers an offset past the last append, so waiting for one would hang
+        long next = getNextOffset();
+        if (offset >= next) {
+            throw new IllegalArgumentException("Offset " + offset + " has not been appended; next offset is " + next);
+        }
+        synchronized (syncMonitor) {
+            while (durableOffset < offset) {
+                if (closed) {
+                    throw new IllegalStateException("Journal has been closed");
+                }
+                syncRequested = true;
+                syncMonitor.notifyAll();
+                syncMonitor.wait();
+            }
+        }
+    }
+
+    /**
+     * Delivers every retained event from the given offset onwards, in offset order, to the
+     * consumer. Events appended while the replay runs are included up to the point where
+     * the scan reaches the end of the journal.
+     *
+     * @param fromOffset The first offset to deliver; older offsets that were deleted by
+     *                   retention are skipped
+     * @param consumer Receives each event
+     * @return The offset following the last delivered event
+     */
+    public long replay(long fromOffset, @NotNull Consumer<JournalEntry> consumer) {
+        Objects.requireNonNull(consumer, "Consumer must not be null");
+        long next = fromOffset;
+        Long start = segments.floorKey(fromOffset);
+        for (JournalSegment segment : (start != null ? segments.tailMap(start) : segments).values()) {
+            int limit;
+            int position;
+            appendLock.lock();
+            try {
+                limit = segment.getWritePosition();
+                position = segment.positionFor(next);
+            } finally {
+                appendLock.unlock();
+            }
+            ByteBuffer view = segment.readView();
+            while (position + JournalSegment.RECORD_OVERHEAD <= limit) {
+                int bodyLength = view.getInt(position);
+                if (bodyLength <= 0) {
+                    break;
+                }
+                int bodyStart = position + JournalSegment.RECORD_OVERHEAD;
+                long offset = view.getLong(bodyStart);
+                if (offset >= next) {
+                    view.limit(bodyStart + bodyLength).position(bodyStart + 8);
+                    long timestamp = view.getLong();
+                    byte[] type = new byte[view.getInt()];
+                    view.get(type);
+                    Map<String, Object> payload = PayloadCodec.decodeLazy(view);
+                    view.limit(view.capacity());
+                    consumer.accept(new JournalEntry(offset, timestamp, new String(type, StandardCharsets.UTF_8), payload));
+                    next = offset + 1;
+                }
+                position = bodyStart + bodyLength;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the offset the next appended event will get.
+     */
+    public long getNextOffset() {
+        appendLock.lock();
+        try {
+            return nextOffset;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the oldest offset still retained, or the next offset if the journal is empty.
+     */
+    public long getFirstOffset() {
+        for (JournalSegment segment : segments.values()) {
+            if (!segment.isEmpty()) {
+                return segment.getBaseOffset();
+            }
+        }
+        return getNextOffset();
+    }
+
+    /**
+     * Returns the highest offset known to be on disk, or -1 if none is.
+     */
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+
+    @NotNull
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> snapshot = metrics.snapshot();
+        snapshot.put("journal.segments", segments.size());
+        snapshot.put("journal.nextOffset", getNextOffset());
+        return snapshot;
+    }
+
+    /**
+     * Forces all appended events to disk and stops the background thread.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        try {
+            maintenanceThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+        synchronized (syncMonitor) {
+            closed = true;
+            syncMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Seals the active segment and activates the prepared one, creating it on the spot only
+     * if the background thread has not prepared it yet. Called with the append lock held.
+     */
+    private void roll() {
+        JournalSegment next = prepared.getAndSet(null);
+        if (next == null) {
+            rollStalls.increment();
+            next = newSegment();
+        }
+        next.activate(nextOffset);
+        unsyncedSealed.add(active);
+        segments.put(next.getBaseOffset(), next);
+        active = next;
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+    }
+
+    private JournalSegment newSegment() {
+        long sequence = nextSequence++;
+        Path path = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+        try {
+            return JournalSegment.create(path, sequence, segmentSize, indexInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + path, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<JournalSegment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long sequence;
+                try {
+                    sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                found.add(JournalSegment.open(file, sequence, indexInterval));
+            }
+        }
+        found.sort((a, b) -> Long.compare(a.getSequence(), b.getSequence()));
+        for (JournalSegment segment : found) {
+            nextSequence = Math.max(nextSequence, segment.getSequence() + 1);
+            if (segment.getBaseOffset() < 0) {
+                // Prepared ahead of a roll that never happened
+                Files.deleteIfExists(segment.getPath());
+                continue;
+            }
+            segments.put(segment.getBaseOffset(), segment);
+            nextOffset = Math.max(nextOffset, segment.getLastOffset() + 1);
+        }
+        if (segments.isEmpty()) {
+            JournalSegment first = newSegment();
+            first.activate(nextOffset);
+            segments.put(first.getBaseOffset(), first);
+        }
+        active = segments.lastEntry().getValue();
+        durableOffset = nextOffset - 1;
+        durableOffsetGauge.set(durableOffset);
+    }
+
+    private void runMaintenance() {
+        long lastRetentionCheck = 0;
+        while (running) {
+            synchronized (syncMonitor) {
+                if (!syncRequested && running) {
+                    try {
+                        syncMonitor.wait(syncIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                syncRequested = false;
+            }
+            try {
+                sync();
+                prepareNextSegment();
+                long now = System.currentTimeMillis();
+                if (now - lastRetentionCheck >= RETENTION_CHECK_INTERVAL_MILLIS) {
+                    lastRetentionCheck = now;
+                    enforceRetention(now);
+                }
+            } catch (RuntimeException e) {
+                // Keep syncing; a transient failure must not leave later appends undurable
+                LOG.log(Level.SEVERE, "Event journal maintenance failed", e);
+            }
+        }
+    }
+
+    /**
+     * Forces sealed segments that still have unsynced data, then the active one, and
+     * publishes the new durable offset to waiting callers.
+     */
+    private void sync() {
+        long target;
+        JournalSegment current;
+        appendLock.lock();
+        try {
+            target = nextOffset - 1;
+            current = active;
+        } finally {
+            appendLock.unlock();
+        }
+        if (target <= durableOffset) {
+            return;
+        }
+        JournalSegment sealed;
+        while ((sealed = unsyncedSealed.poll()) != null) {
+            sealed.force();
+        }
+        current.force();
+        syncs.increment();
+        synchronized (syncMonitor) {
+            durableOffset = target;
+            durableOffsetGauge.set(target);
+            syncMonitor.notifyAll();
+        }
+    }
+
+    private void prepareNextSegment() {
+        JournalSegment current = active;
+        if (prepared.get() != null || current.getWritePosition() < current.getCapacity() / 2) {
+            return;
+        }
+        long sequence;
+        appendLock.lock();
+        try {
+            sequence = nextSequence++;
+        } finally {
+            appendLock.unlock();
+        }
+        Path path = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+        try {
+            JournalSegment segment = JournalSegment.create(path, sequence, segmentSize, indexInterval);
+            if (!prepared.compareAndSet(null, segment)) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to prepare journal segment " + path, e);
+        }
+    }
+
+    private void enforceRetention(long now) {
+        long totalBytes = 0;
+        for (JournalSegment segment : segments.values()) {
+            totalBytes += segment.getCapacity();
+        }
+        for (JournalSegment segment : segments.values()) {
+            if (segment == active) {
+                break;
+            }
+            boolean tooLarge = retentionBytes > 0 && totalBytes > retentionBytes;
+            boolean tooOld = retentionAgeMillis > 0 && now - segment.getLastAppendMillis() > retentionAgeMillis;
+            if (!tooLarge && !tooOld) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            totalBytes -= segment.getCapacity();
+            try {
+                Files.deleteIfExists(segment.getPath());
+                deletedSegments.increment();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to delete journal segment " + segment.getPath(), e);
+            }
+        }
+    }
+}
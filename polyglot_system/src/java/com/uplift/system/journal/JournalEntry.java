@@ -0,0 +1,50 @@
+package com.uplift.system.journal;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+
+/**
+ * An event read back from the {@link EventJournal}.
+ */
+public final class JournalEntry {
+    private final long offset;
+    private final long timestampMillis;
+    private final String eventType;
+    private final Map<String, Object> payload;
+
+    JournalEntry(long offset, long timestampMillis, @NotNull String eventType, @NotNull Map<String, Object> payload) {
+        this.offset = offset;
+        this.timestampMillis = timestampMillis;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Wall-clock time the event was appended, in epoch milliseconds.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @NotNull
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * The payload, as a read-only view that decodes each field from the journal when it is read.
+     */
+    @NotNull
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{offset=" + offset + ", eventType='" + eventType + "'}";
+    }
+}
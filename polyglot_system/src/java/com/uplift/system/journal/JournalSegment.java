@@ -0,0 +1,256 @@
+package com.uplift.system.journal;
+
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One preallocated, memory-mapped journal file.
+ *
+ * <p>Layout: a 16-byte header (magic, format version, base offset) followed by records of
+ * the form {@code [int bodyLength][int crc32(body)][body]}, where the body is
+ * {@code [long offset][long timestampMillis][int typeLength][type UTF-8][payload]}. The file is
+ * zero-filled when created, so a zero body length marks the end of the written records.
+ * A segment that was preallocated but never activated has a base offset of -1.
+ *
+ * <p>Records are located through a sparse in-memory index that remembers the position of
+ * roughly one record per {@code indexInterval} bytes; it is rebuilt by a sequential,
+ * checksum-verifying scan when an existing segment is opened.
+ *
+ * <p>Appends are serialized by the journal; reads take a duplicate of the mapping and may
+ * run concurrently with appends up to a write position read beforehand.
+ */
+final class JournalSegment {
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = 8;
+    private static final int MAGIC = 0x554A524E; // "UJRN"
+    private static final int VERSION = 2; // 2: compact payload encoding with key dictionary
+    private static final int BASE_OFFSET_POSITION = 8;
+
+    private final Path path;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexInterval;
+    private long baseOffset;
+    private long lastOffset;
+    private long lastAppendMillis;
+    private volatile int writePosition;
+    private long[] indexOffsets;
+    private int[] indexPositions;
+    private int indexSize;
+    private int lastIndexedPosition;
+
+    private JournalSegment(Path path, long sequence, MappedByteBuffer buffer, int indexInterval) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.indexInterval = indexInterval;
+        this.baseOffset = -1;
+        this.lastOffset = -1;
+        this.writePosition = HEADER_SIZE;
+        this.indexOffsets = new long[16];
+        this.indexPositions = new int[16];
+        this.lastIndexedPosition = -indexInterval;
+    }
+
+    /**
+     * Creates and maps a new, not yet activated segment file.
+     */
+    @NotNull
+    static JournalSegment create(@NotNull Path path, long sequence, int capacity, int indexInterval) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(capacity);
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(BASE_OFFSET_POSITION, -1);
+        JournalSegment segment = new JournalSegment(path, sequence, buffer, indexInterval);
+        segment.lastAppendMillis = System.currentTimeMillis();
+        return segment;
+    }
+
+    /**
+     * Maps an existing segment file and rebuilds its index. Records whose checksum does not
+     * match, such as a write torn by a crash, end the segment.
+     *
+     * @throws IOException if the file is not a journal segment
+     */
+    @NotNull
+    static JournalSegment open(@NotNull Path path, long sequence, int indexInterval) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported journal segment version " + buffer.getInt(4) + ": " + path);
+        }
+        JournalSegment segment = new JournalSegment(path, sequence, buffer, indexInterval);
+        segment.baseOffset = buffer.getLong(BASE_OFFSET_POSITION);
+        segment.lastAppendMillis = Files.getLastModifiedTime(path).toMillis();
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * Assigns the offset of the first record; called when the segment becomes active.
+     */
+    void activate(long baseOffset) {
+        this.baseOffset = baseOffset;
+        this.lastOffset = baseOffset - 1;
+        buffer.putLong(BASE_OFFSET_POSITION, baseOffset);
+    }
+
+    /**
+     * Writes a record if it fits.
+     *
+     * @return false if the segment has no room left for the record
+     */
+    boolean append(long offset, long timestampMillis, byte[] type, byte[] payload) {
+        int bodyLength = 8 + 8 + 4 + type.length + payload.length;
+        int position = writePosition;
+        // Keep four zero bytes after the record so the end stays detectable
+        if ((long) position + RECORD_OVERHEAD + bodyLength + 4 > capacity) {
+            return false;
+        }
+        ByteBuffer target = buffer.duplicate();
+        target.position(position + RECORD_OVERHEAD);
+        target.putLong(offset).putLong(timestampMillis).putInt(type.length).put(type).put(payload);
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(position + RECORD_OVERHEAD).limit(position + RECORD_OVERHEAD + bodyLength);
+        crc.update(body);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position + RECORD_OVERHEAD + bodyLength, 0);
+        // The length is written last so a reader never sees a partially written record
+        buffer.putInt(position, bodyLength);
+        indexIfDue(offset, position);
+        lastOffset = offset;
+        lastAppendMillis = timestampMillis;
+        writePosition = position + RECORD_OVERHEAD + bodyLength;
+        return true;
+    }
+
+    /**
+     * Returns the position of the last indexed record at or before the offset, from which a
+     * forward scan finds the record.
+     */
+    int positionFor(long offset) {
+        int low = 0;
+        int high = indexSize - 1;
+        int position = HEADER_SIZE;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (indexOffsets[middle] <= offset) {
+                position = indexPositions[middle];
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns a read-only view of the mapping for scanning records.
+     */
+    @NotNull
+    ByteBuffer readView() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @NotNull
+    Path getPath() {
+        return path;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    long getLastOffset() {
+        return lastOffset;
+    }
+
+    long getLastAppendMillis() {
+        return lastAppendMillis;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    boolean isEmpty() {
+        return lastOffset < baseOffset;
+    }
+
+    private void indexIfDue(long offset, int position) {
+        if (position - lastIndexedPosition < indexInterval) {
+            return;
+        }
+        if (indexSize == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexOffsets[indexSize] = offset;
+        indexPositions[indexSize] = position;
+        indexSize++;
+        lastIndexedPosition = position;
+    }
+
+    private void recover() {
+        lastOffset = baseOffset - 1;
+        if (baseOffset < 0) {
+            return;
+        }
+        int position = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (position + RECORD_OVERHEAD <= capacity) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength <= 0 || (long) position + RECORD_OVERHEAD + bodyLength > capacity) {
+                break;
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.position(position + RECORD_OVERHEAD).limit(position + RECORD_OVERHEAD + bodyLength);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            long offset = buffer.getLong(position + RECORD_OVERHEAD);
+            indexIfDue(offset, position);
+            lastOffset = offset;
+            position += RECORD_OVERHEAD + bodyLength;
+        }
+        // Clear a torn tail so later appends and scans stop at the recovered end
+        if (position + 4 <= capacity) {
+            buffer.putInt(position, 0);
+        }
+        writePosition = position;
+    }
+}
@@ -2,10 +2,17 @@ package com.uplift.system.monitoring;
 
 import com.uplift.system.monitoring.interfaces.MetricCollector;
 import com.uplift.system.monitoring.models.Metric;
+import com.uplift.system.monitoring.models.TagSet;
 import com.uplift.system.monitoring.exceptions.MetricCollectionException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.Map;
@@ -16,18 +23,67 @@ import java.util.logging.Logger;
 /**
  * Abstract base class for domain monitoring implementations.
  * Provides common functionality for metric collection and event handling.
+ *
+ * <p>Metrics are stored per (domain, metric name) in a {@link MetricSeries}: a ring of time
+ * buckets that together span the retention age. Recording is constant-time; samples older
+ * than the retention age, or beyond a series' sample limit, are dropped oldest first. Range
+ * queries only visit the buckets that overlap the requested time range.
+ *
+ * <p>{@link #recordDouble(String, String, Metric.MetricType, double, TagSet)} stores the
+ * value, timestamp and tag set reference straight into the series' columns, allocating
+ * nothing per sample unless metric listeners are registered. It goes through
+ * {@link #validateSample} and {@link #preprocessTags} instead of the metric hooks.
  */
 public abstract class AbstractDomainMonitor implements MetricCollector {
     
     private static final Logger LOG = Logger.getLogger(AbstractDomainMonitor.class.getName());
-    protected final Map<String, List<Metric>> metricsByDomain;
+    private static final Instant EARLIEST = Instant.ofEpochSecond(Long.MIN_VALUE / 1_000_000_000L);
+    private static final Instant LATEST = Instant.ofEpochSecond(Long.MAX_VALUE / 1_000_000_000L);
+
+    private final Map<String, Map<String, MetricSeries>> seriesByDomain;
+    private final long bucketNanos;
+    private final int bucketCount;
+    private final int bucketCapacity;
+    private final long retentionNanos;
     protected final List<Consumer<Metric>> metricListeners;
     protected final String monitorName;
 
+    /**
+     * Creates a monitor that retains an hour of metrics, in one-minute buckets, and at most
+     * 10,000 samples per metric.
+     *
+     * @param monitorName The monitor name
+     */
     protected AbstractDomainMonitor(String monitorName) {
+        this(monitorName, Duration.ofHours(1), 60, 10_000);
+    }
+
+    /**
+     * Creates a monitor with the given retention.
+     *
+     * @param monitorName The monitor name
+     * @param retentionAge How long samples are kept
+     * @param retentionBuckets Number of time buckets the retention age is divided into
+     * @param maxSamplesPerMetric Maximum number of samples kept per domain and metric name;
+     *        each bucket keeps an equal share, so a burst within one bucket keeps its newest
+     * @throws IllegalArgumentException if any of the limits is not positive
+     */
+    protected AbstractDomainMonitor(
+            String monitorName,
+            @NotNull Duration retentionAge,
+            int retentionBuckets,
+            int maxSamplesPerMetric) {
+        Objects.requireNonNull(retentionAge, "Retention age must not be null");
+        if (retentionAge.isNegative() || retentionAge.isZero() || retentionBuckets <= 0 || maxSamplesPerMetric <= 0) {
+            throw new IllegalArgumentException("Retention age, buckets and samples must be positive");
+        }
         this.monitorName = monitorName;
-        this.metricsByDomain = new ConcurrentHashMap<>();
+        this.seriesByDomain = new ConcurrentHashMap<>();
         this.metricListeners = new CopyOnWriteArrayList<>();
+        this.bucketCount = retentionBuckets;
+        this.bucketNanos = Math.max(1, retentionAge.toNanos() / retentionBuckets);
+        this.bucketCapacity = (maxSamplesPerMetric + retentionBuckets - 1) / retentionBuckets;
+        this.retentionNanos = bucketNanos * retentionBuckets;
     }
 
     @Override
@@ -35,12 +91,34 @@ public abstract class AbstractDomainMonitor implements MetricCollector {
         try {
             validateMetric(metric);
             storeMetric(metric);
-            notifyListeners(metric);
+            if (!metricListeners.isEmpty()) {
+                notifyListeners(metric);
+            }
         } catch (Exception e) {
             throw new MetricCollectionException("Failed to record metric: " + metric.getName(), e);
         }
     }
 
+    @Override
+    public void recordDouble(
+            @NotNull String name,
+            @NotNull String domain,
+            @NotNull Metric.MetricType type,
+            double value,
+            @NotNull TagSet tags) {
+        try {
+            validateSample(name, domain, type, value, tags);
+            TagSet processedTags = preprocessTags(domain, tags);
+            long timestampNanos = currentTimeNanos();
+            series(domain, name).appendDouble(type, value, processedTags, timestampNanos);
+            if (!metricListeners.isEmpty()) {
+                notifyListeners(Metric.ofDouble(name, domain, type, value, timestampNanos, processedTags));
+            }
+        } catch (Exception e) {
+            throw new MetricCollectionException("Failed to record metric: " + name, e);
+        }
+    }
+
     @Override
     public void recordMetrics(@NotNull List<Metric> metrics) {
         List<Exception> errors = new ArrayList<>();
@@ -61,21 +139,131 @@ public abstract class AbstractDomainMonitor implements MetricCollector {
         }
     }
 
+    /**
+     * Retrieves the retained metrics of a domain, grouped by metric name and in time order
+     * within each name.
+     */
     @Override
     public List<Metric> getMetricsForDomain(@NotNull String domain) {
-        return new ArrayList<>(metricsByDomain.getOrDefault(domain, new ArrayList<>()));
+        return getMetricsForDomain(domain, EARLIEST, LATEST);
+    }
+
+    @Override
+    public List<Metric> getMetricsForDomain(@NotNull String domain, @NotNull Instant from, @NotNull Instant to) {
+        Objects.requireNonNull(domain, "Domain must not be null");
+        List<Metric> metrics = new ArrayList<>();
+        Map<String, MetricSeries> series = seriesByDomain.get(domain);
+        if (series != null) {
+            long fromNanos = Metric.toEpochNanos(from);
+            long toNanos = Metric.toEpochNanos(to);
+            long cutoff = retentionCutoff();
+            for (MetricSeries metricSeries : series.values()) {
+                metricSeries.scan(fromNanos, toNanos, cutoff, metrics::add);
+            }
+        }
+        return metrics;
+    }
+
+    @Override
+    public List<Metric> getMetrics(@NotNull String domain, @NotNull String name, @NotNull Instant from, @NotNull Instant to) {
+        List<Metric> metrics = new ArrayList<>();
+        forEachMetric(domain, name, from, to, metrics::add);
+        return metrics;
+    }
+
+    /**
+     * Passes the samples of one metric of a domain with timestamps in a range to the action,
+     * in time order, without collecting them into a list.
+     *
+     * @param domain The domain of the metric
+     * @param name The metric name
+     * @param from The earliest timestamp, inclusive
+     * @param to The latest timestamp, exclusive
+     * @param action Called with each sample while the series is locked; must not record metrics
+     */
+    public void forEachMetric(
+            @NotNull String domain,
+            @NotNull String name,
+            @NotNull Instant from,
+            @NotNull Instant to,
+            @NotNull Consumer<Metric> action) {
+        Objects.requireNonNull(action, "Action must not be null");
+        MetricSeries series = seriesFor(domain, name);
+        if (series != null) {
+            series.scan(Metric.toEpochNanos(from), Metric.toEpochNanos(to), retentionCutoff(), action);
+        }
+    }
+
+    /**
+     * Passes the timestamps and values of the numeric samples of one metric of a domain in a
+     * range to the consumer, in time order, without creating metric objects.
+     *
+     * @param domain The domain of the metric
+     * @param name The metric name
+     * @param from The earliest timestamp, inclusive
+     * @param to The latest timestamp, exclusive
+     * @param consumer Called with each sample while the series is locked; must not record metrics
+     */
+    public void forEachValue(
+            @NotNull String domain,
+            @NotNull String name,
+            @NotNull Instant from,
+            @NotNull Instant to,
+            @NotNull SampleConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer must not be null");
+        MetricSeries series = seriesFor(domain, name);
+        if (series != null) {
+            series.scanValues(Metric.toEpochNanos(from), Metric.toEpochNanos(to), retentionCutoff(), consumer);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Metric getLatestMetric(@NotNull String domain, @NotNull String name) {
+        MetricSeries series = seriesFor(domain, name);
+        return series != null ? series.latest(retentionCutoff()) : null;
     }
 
     @Override
     public List<Metric> getAllMetrics() {
         List<Metric> allMetrics = new ArrayList<>();
-        metricsByDomain.values().forEach(allMetrics::addAll);
+        for (String domain : seriesByDomain.keySet()) {
+            allMetrics.addAll(getMetricsForDomain(domain));
+        }
         return allMetrics;
     }
 
     @Override
     public void clearMetrics() {
-        metricsByDomain.clear();
+        seriesByDomain.clear();
+    }
+
+    /**
+     * Gets the domains that have recorded metrics.
+     */
+    @NotNull
+    public Set<String> getDomains() {
+        return Collections.unmodifiableSet(seriesByDomain.keySet());
+    }
+
+    /**
+     * Gets the names of the metrics recorded for a domain.
+     *
+     * @param domain The domain
+     */
+    @NotNull
+    public Set<String> getMetricNames(@NotNull String domain) {
+        Objects.requireNonNull(domain, "Domain must not be null");
+        Map<String, MetricSeries> series = seriesByDomain.get(domain);
+        return series != null ? Collections.unmodifiableSet(series.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Gets the number of retained samples of one metric of a domain.
+     */
+    public int getSampleCount(@NotNull String domain, @NotNull String name) {
+        MetricSeries series = seriesFor(domain, name);
+        return series != null ? series.size(retentionCutoff()) : 0;
     }
 
     /**
@@ -112,12 +300,87 @@ public abstract class AbstractDomainMonitor implements MetricCollector {
      */
     protected abstract Metric preprocessMetric(@NotNull Metric metric);
 
+    /**
+     * Validates a primitive sample before recording. The default checks that the name and
+     * domain are not empty; overrides must not allocate on success.
+     *
+     * @throws MetricCollectionException if validation fails
+     */
+    protected void validateSample(
+            @NotNull String name,
+            @NotNull String domain,
+            @NotNull Metric.MetricType type,
+            double value,
+            @NotNull TagSet tags) {
+        if (name == null || name.isEmpty()) {
+            throw new MetricCollectionException("Metric name cannot be null or empty");
+        }
+        if (domain == null || domain.isEmpty()) {
+            throw new MetricCollectionException("Metric domain cannot be null or empty");
+        }
+        Objects.requireNonNull(type, "Metric type must not be null");
+        Objects.requireNonNull(tags, "Tags must not be null");
+    }
+
+    /**
+     * Returns the tags to store with a primitive sample. The default returns them unchanged.
+     *
+     * @param domain The domain of the sample
+     * @param tags The tags the sample was recorded with
+     */
+    @NotNull
+    protected TagSet preprocessTags(@NotNull String domain, @NotNull TagSet tags) {
+        return tags;
+    }
+
     private void storeMetric(@NotNull Metric metric) {
         Metric processedMetric = preprocessMetric(metric);
-        String domain = processedMetric.getDomain();
-        
-        metricsByDomain.computeIfAbsent(domain, k -> new CopyOnWriteArrayList<>())
-                      .add(processedMetric);
+        series(processedMetric.getDomain(), processedMetric.getName()).append(processedMetric);
+    }
+
+    @NotNull
+    private MetricSeries series(String domain, String name) {
+        // Look up before computing, so the common case does not allocate a capturing lambda
+        Map<String, MetricSeries> byName = seriesByDomain.get(domain);
+        if (byName == null) {
+            byName = seriesByDomain.computeIfAbsent(domain, k -> new ConcurrentHashMap<>());
+        }
+        MetricSeries series = byName.get(name);
+        if (series == null) {
+            series = byName.computeIfAbsent(name, k -> new MetricSeries(domain, k, bucketNanos, bucketCount, bucketCapacity));
+        }
+        return series;
+    }
+
+    @Nullable
+    private MetricSeries seriesFor(@NotNull String domain, @NotNull String name) {
+        Objects.requireNonNull(domain, "Domain must not be null");
+        Objects.requireNonNull(name, "Name must not be null");
+        Map<String, MetricSeries> series = seriesByDomain.get(domain);
+        return series != null ? series.get(name) : null;
+    }
+
+    /**
+     * Returns the epoch nanoseconds before which samples are past the retention age.
+     */
+    private long retentionCutoff() {
+        return Metric.toEpochNanos(Instant.now()) - retentionNanos;
+    }
+
+    /**
+     * Returns the wall-clock time in epoch nanoseconds, at millisecond resolution, without
+     * allocating an {@link Instant}.
+     */
+    private static long currentTimeNanos() {
+        return System.currentTimeMillis() * 1_000_000L;
+    }
+
+    /**
+     * Receives the timestamp, in epoch nanoseconds, and value of a numeric sample.
+     */
+    @FunctionalInterface
+    public interface SampleConsumer {
+        void accept(long timestampNanos, double value);
     }
 
     private void notifyListeners(@NotNull Metric metric) {
@@ -0,0 +1,127 @@
+package com.uplift.system.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters and gauges for hot-path metrics.
+ *
+ * <p>Components resolve a typed handle once, usually at construction, and update the handle
+ * directly, so recording a value does no map lookup and builds no key. Counters are backed
+ * by {@link LongAdder}, which stripes concurrent increments over separate cells instead of
+ * contending on one cache line. {@link #snapshot()} reads every handle into a plain map keyed
+ * by name, the shape existing {@code getMetrics()} and {@code getDomainMetrics()} callers expect.
+ */
+public final class CounterRegistry {
+    private final Map<String, LongSupplier> handles;
+
+    public CounterRegistry() {
+        this.handles = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name The metric name
+     * @return The counter handle
+     * @throws IllegalArgumentException if the name is already registered as a gauge
+     */
+    @NotNull
+    public Counter counter(@NotNull String name) {
+        return register(name, Counter.class, new Counter());
+    }
+
+    /**
+     * Returns the gauge with the given name, creating it on first use.
+     *
+     * @param name The metric name
+     * @return The gauge handle
+     * @throws IllegalArgumentException if the name is already registered as a counter
+     */
+    @NotNull
+    public Gauge gauge(@NotNull String name) {
+        return register(name, Gauge.class, new Gauge());
+    }
+
+    /**
+     * Reads the current value of every counter and gauge.
+     *
+     * @return A mutable map from metric name to its value as a Long
+     */
+    @NotNull
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        handles.forEach((name, handle) -> snapshot.put(name, handle.getAsLong()));
+        return snapshot;
+    }
+
+    private <T extends LongSupplier> T register(String name, Class<T> type, T created) {
+        Objects.requireNonNull(name, "Metric name must not be null");
+        LongSupplier handle = handles.computeIfAbsent(name, key -> created);
+        if (!type.isInstance(handle)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                + handle.getClass().getSimpleName().toLowerCase());
+        }
+        return type.cast(handle);
+    }
+
+    /**
+     * Monotonic count of events; {@link #decrement()} exists for up/down counts such as
+     * active subscribers.
+     */
+    public static final class Counter implements LongSupplier {
+        private final LongAdder adder = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void decrement() {
+            adder.decrement();
+        }
+
+        public void add(long delta) {
+            adder.add(delta);
+        }
+
+        public long sum() {
+            return adder.sum();
+        }
+
+        @Override
+        public long getAsLong() {
+            return adder.sum();
+        }
+    }
+
+    /**
+     * Last-written value, for measurements such as ratios that are replaced rather than summed.
+     */
+    public static final class Gauge implements LongSupplier {
+        private volatile long value;
+
+        private Gauge() {
+        }
+
+        public void set(long value) {
+            this.value = value;
+        }
+
+        public long get() {
+            return value;
+        }
+
+        @Override
+        public long getAsLong() {
+            return value;
+        }
+    }
+}
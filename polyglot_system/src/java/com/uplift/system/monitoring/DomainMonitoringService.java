@@ -12,6 +12,7 @@ import java.util.concurrent.Executors;
 import java.time.Instant;
 import java.util.function.Consumer;
 import com.uplift.system.monitoring.models.Metric;
+import com.uplift.system.monitoring.models.TagSet;
 import com.uplift.system.monitoring.exceptions.MetricCollectionException;
 import org.jetbrains.annotations.NotNull;
 import java.time.Duration;
@@ -23,6 +24,7 @@ import java.util.logging.Logger;
  */
 public class DomainMonitoringService extends AbstractDomainMonitor {
     private static final Logger LOG = Logger.getLogger(DomainMonitoringService.class.getName());
+    private static final int MAX_TAGGED_SETS = 4096;
     private final SystemConfig config;
     private final Map<String, MetricCollector> metricCollectors;
     private final Map<String, List<MetricSnapshot>> metricHistory;
@@ -31,6 +33,9 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
     private final List<Consumer<Map<String, Object>>> visualizationListeners;
     private final Map<String, AlertThreshold> alertThresholds;
     private final List<Consumer<Alert>> alertListeners;
+    private final TagSet systemTags;
+    // Recorded tag sets mapped to the same sets with the system tags added
+    private final Map<TagSet, TagSet> taggedSets;
     
     private ScheduledFuture<?> collectionTask;
     private ScheduledFuture<?> visualizationTask;
@@ -92,8 +97,11 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
     }
 
     public DomainMonitoringService(@NotNull SystemConfig config) {
-        super("DomainMonitoringService");
-        this.config = Objects.requireNonNull(config, "Config must not be null");
+        super("DomainMonitoringService",
+              Objects.requireNonNull(config, "Config must not be null").getDurationValue("monitoring.retentionAge", Duration.ofHours(1)),
+              config.getIntValue("monitoring.retentionBuckets", 60),
+              config.getIntValue("monitoring.maxSamplesPerMetric", 10000));
+        this.config = config;
         this.metricCollectors = new ConcurrentHashMap<>();
         this.metricHistory = new ConcurrentHashMap<>();
         this.scheduler = Executors.newScheduledThreadPool(2);
@@ -101,6 +109,9 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
         this.visualizationListeners = new ArrayList<>();
         this.alertThresholds = new HashMap<>();
         this.alertListeners = new ArrayList<>();
+        // Resolve the host once; looking it up may hit DNS
+        this.systemTags = TagSet.EMPTY.with("host", getHostName()).with("service", monitorName);
+        this.taggedSets = new ConcurrentHashMap<>();
         
         initializeCollectors();
         initializeScheduledTasks();
@@ -437,7 +448,8 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
             throw new MetricCollectionException("Metric name cannot be null or empty");
         }
         
-        if (metric.getValue() == null) {
+        // Checked without getValue(), which would box a primitive value
+        if (!metric.isNumeric() && metric.getValue() == null) {
             throw new MetricCollectionException("Metric value cannot be null");
         }
         
@@ -448,16 +460,38 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
 
     @Override
     protected Metric preprocessMetric(@NotNull Metric metric) {
-        // Add system-level tags
-        return new Metric.Builder()
-            .name(metric.getName())
-            .value(metric.getValue())
-            .type(metric.getType())
-            .timestamp(metric.getTimestamp())
-            .domain(metric.getDomain())
-            .addTag("host", getHostName())
-            .addTag("service", monitorName)
-            .build();
+        // Add system-level tags; a metric built with them already is stored as is
+        return metric.withTags(withSystemTags(metric.getTagSet()));
+    }
+
+    @Override
+    @NotNull
+    protected TagSet preprocessTags(@NotNull String domain, @NotNull TagSet tags) {
+        return withSystemTags(tags);
+    }
+
+    /**
+     * Gets the system-level tags, host and service, added to every recorded metric. Metrics
+     * built with these tags are recorded without being copied.
+     */
+    @NotNull
+    public TagSet getSystemTags() {
+        return systemTags;
+    }
+
+    private TagSet withSystemTags(TagSet tags) {
+        if (tags == systemTags) {
+            return tags;
+        }
+        TagSet tagged = taggedSets.get(tags);
+        if (tagged == null) {
+            tagged = tags.withAll(systemTags);
+            // Bounded like the tag set intern pool, so high-cardinality tags do not grow it
+            if (taggedSets.size() < MAX_TAGGED_SETS) {
+                taggedSets.putIfAbsent(tags, tagged);
+            }
+        }
+        return tagged;
     }
 
     private void initializeScheduledTasks() {
@@ -480,18 +514,15 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
 
     private void aggregateMetrics() {
         try {
-            for (Map.Entry<String, List<Metric>> entry : metricsByDomain.entrySet()) {
-                String domain = entry.getKey();
-                List<Metric> metrics = entry.getValue();
-                
-                // Calculate aggregates for the domain
+            for (String domain : getDomains()) {
+                // Calculate aggregates for the domain, one series at a time
                 Map<String, DoubleSummaryStatistics> stats = new HashMap<>();
                 
-                for (Metric metric : metrics) {
-                    if (metric.getValue() instanceof Number) {
-                        String name = metric.getName();
-                        stats.computeIfAbsent(name, k -> new DoubleSummaryStatistics())
-                             .accept(((Number) metric.getValue()).doubleValue());
+                for (String name : getMetricNames(domain)) {
+                    DoubleSummaryStatistics dss = new DoubleSummaryStatistics();
+                    forEachValue(domain, name, Instant.MIN, Instant.MAX, (timestampNanos, value) -> dss.accept(value));
+                    if (dss.getCount() > 0) {
+                        stats.put(name, dss);
                     }
                 }
                 
@@ -540,21 +571,18 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
                 String domain = parts[0];
                 AlertThreshold threshold = entry.getValue();
                 
-                List<Metric> metrics = getMetricsForDomain(domain);
-                checkThreshold(domain, metrics, threshold);
+                checkThreshold(domain, threshold);
             }
         } catch (Exception e) {
             LOG.log(Level.SEVERE, "Error checking alert thresholds", e);
         }
     }
 
-    private void checkThreshold(String domain, List<Metric> metrics, AlertThreshold threshold) {
-        // Filter metrics by name and time window
-        Instant cutoff = Instant.now().minus(threshold.window);
-        List<Metric> relevantMetrics = metrics.stream()
-            .filter(m -> m.getName().equals(threshold.metricName))
-            .filter(m -> m.getTimestamp().isAfter(cutoff))
-            .toList();
+    private void checkThreshold(String domain, AlertThreshold threshold) {
+        // Scan only the buckets of the metric's series that fall in the time window
+        Instant now = Instant.now();
+        List<Metric> relevantMetrics = new ArrayList<>(getMetrics(domain, threshold.metricName, now.minus(threshold.window), now));
+        relevantMetrics.removeIf(m -> !m.isNumeric());
 
         if (relevantMetrics.isEmpty()) {
             return;
@@ -573,7 +601,7 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
         switch (type) {
             case THRESHOLD_EXCEEDED:
                 return metrics.stream()
-                    .mapToDouble(m -> ((Number) m.getValue()).doubleValue())
+                    .mapToDouble(Metric::getDoubleValue)
                     .max()
                     .orElse(0.0);
                 
@@ -581,20 +609,18 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
                 if (metrics.size() < 2) return 0.0;
                 Metric first = metrics.get(0);
                 Metric last = metrics.get(metrics.size() - 1);
-                double valueDiff = ((Number) last.getValue()).doubleValue() - 
-                                 ((Number) first.getValue()).doubleValue();
-                double timeDiff = Duration.between(first.getTimestamp(), last.getTimestamp())
-                                        .toSeconds();
+                double valueDiff = last.getDoubleValue() - first.getDoubleValue();
+                double timeDiff = (last.getTimestampNanos() - first.getTimestampNanos()) / 1_000_000_000L;
                 return valueDiff / timeDiff;
                 
             case ANOMALY_DETECTED:
                 // Simple anomaly detection using z-score
                 double mean = metrics.stream()
-                    .mapToDouble(m -> ((Number) m.getValue()).doubleValue())
+                    .mapToDouble(Metric::getDoubleValue)
                     .average()
                     .orElse(0.0);
                 double stdDev = calculateStdDev(metrics, mean);
-                double latest = ((Number) metrics.get(metrics.size() - 1).getValue()).doubleValue();
+                double latest = metrics.get(metrics.size() - 1).getDoubleValue();
                 return Math.abs(latest - mean) / stdDev;
                 
             default:
@@ -605,7 +631,7 @@ public class DomainMonitoringService extends AbstractDomainMonitor {
     private double calculateStdDev(List<Metric> metrics, double mean) {
         return Math.sqrt(metrics.stream()
             .mapToDouble(m -> {
-                double diff = ((Number) m.getValue()).doubleValue() - mean;
+                double diff = m.getDoubleValue() - mean;
                 return diff * diff;
             })
             .average()
@@ -0,0 +1,255 @@
+package com.uplift.system.monitoring;
+
+import com.uplift.system.monitoring.models.Metric;
+import com.uplift.system.monitoring.models.Metric.MetricType;
+import com.uplift.system.monitoring.models.TagSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Bounded store of the samples of one metric in one domain, as a ring of time buckets.
+ *
+ * <p>Each bucket covers a fixed slice of time and the ring covers the retention age. A sample
+ * goes to the bucket of its timestamp's slice; when time moves on to a slice whose bucket still
+ * holds samples from a full ring turn ago, that bucket is emptied and reused, so expired
+ * samples are dropped without scanning. Each bucket holds at most a fixed number of samples
+ * and then overwrites its oldest, which bounds the series' size. Appends are O(1); range scans
+ * visit only the buckets that overlap the range. Reads skip buckets older than the retention
+ * age, even if no sample has arrived since to recycle them.
+ *
+ * <p>Buckets hold samples column-wise: timestamps, double values, types and tag set
+ * references in primitive and reference arrays. Samples recorded through
+ * {@link #appendDouble} live only in those columns, so appending one allocates nothing once
+ * its bucket has grown; a {@link Metric} is created for them only when a scan hands them out.
+ * Samples recorded as a {@link Metric} also keep that object, which scans return as is.
+ *
+ * <p>Samples older than the oldest retained slice are dropped. Within a bucket samples are
+ * kept in arrival order. All methods synchronize on the series.
+ */
+final class MetricSeries {
+    private final String domain;
+    private final String name;
+    private final long bucketNanos;
+    private final Bucket[] buckets;
+    private final int bucketCapacity;
+    private long newestSlot = Long.MIN_VALUE;
+    private long latestNanos = Long.MIN_VALUE;
+    private Metric latest;
+    private MetricType latestType;
+    private double latestValue;
+    private TagSet latestTags;
+
+    /**
+     * @param domain Domain of the samples
+     * @param name Metric name of the samples
+     * @param bucketNanos Time covered by one bucket
+     * @param bucketCount Number of buckets; the series retains bucketCount slices of time
+     * @param bucketCapacity Maximum number of samples per bucket
+     */
+    MetricSeries(String domain, String name, long bucketNanos, int bucketCount, int bucketCapacity) {
+        if (bucketNanos <= 0 || bucketCount <= 0 || bucketCapacity <= 0) {
+            throw new IllegalArgumentException("Bucket duration, count and capacity must be positive");
+        }
+        this.domain = domain;
+        this.name = name;
+        this.bucketNanos = bucketNanos;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.bucketCapacity = bucketCapacity;
+    }
+
+    /**
+     * Adds a sample recorded as a metric object, at the metric's timestamp.
+     *
+     * @return false if the sample is older than the retained time and was dropped
+     */
+    synchronized boolean append(@NotNull Metric metric) {
+        return add(metric, metric.getType(), metric.getDoubleValue(), metric.getTagSet(), metric.getTimestampNanos());
+    }
+
+    /**
+     * Adds a sample with a primitive value.
+     *
+     * @return false if the sample is older than the retained time and was dropped
+     */
+    synchronized boolean appendDouble(@NotNull MetricType type, double value, @NotNull TagSet tags, long timestampNanos) {
+        return add(null, type, value, tags, timestampNanos);
+    }
+
+    private boolean add(Metric metric, MetricType type, double value, TagSet tags, long timestampNanos) {
+        long slot = Math.floorDiv(timestampNanos, bucketNanos);
+        if (newestSlot != Long.MIN_VALUE && slot <= newestSlot - buckets.length) {
+            return false;
+        }
+        Bucket bucket = buckets[(int) Math.floorMod(slot, (long) buckets.length)];
+        if (bucket.slot != slot) {
+            bucket.reset(slot);
+        }
+        bucket.add(metric, type, value, tags, timestampNanos, bucketCapacity);
+        if (slot > newestSlot) {
+            newestSlot = slot;
+        }
+        if (timestampNanos >= latestNanos) {
+            latestNanos = timestampNanos;
+            latest = metric;
+            latestType = type;
+            latestValue = value;
+            latestTags = tags;
+        }
+        return true;
+    }
+
+    /**
+     * Passes the samples with {@code fromNanos <= timestamp < toNanos} that are not older
+     * than {@code cutoffNanos} to the action, bucket by bucket in time order.
+     */
+    synchronized void scan(long fromNanos, long toNanos, long cutoffNanos, @NotNull Consumer<Metric> action) {
+        long from = Math.max(fromNanos, cutoffNanos);
+        if (from >= toNanos || newestSlot == Long.MIN_VALUE) {
+            return;
+        }
+        long firstSlot = Math.max(Math.floorDiv(from, bucketNanos), newestSlot - buckets.length + 1);
+        long lastSlot = Math.min(Math.floorDiv(toNanos - 1, bucketNanos), newestSlot);
+        for (long slot = firstSlot; slot <= lastSlot; slot++) {
+            Bucket bucket = buckets[(int) Math.floorMod(slot, (long) buckets.length)];
+            if (bucket.slot == slot) {
+                bucket.scan(from, toNanos, this, action);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #scan}, but passes the timestamps and values of the numeric samples to the
+     * consumer without creating metric objects.
+     */
+    synchronized void scanValues(
+            long fromNanos, long toNanos, long cutoffNanos, @NotNull AbstractDomainMonitor.SampleConsumer consumer) {
+        long from = Math.max(fromNanos, cutoffNanos);
+        if (from >= toNanos || newestSlot == Long.MIN_VALUE) {
+            return;
+        }
+        long firstSlot = Math.max(Math.floorDiv(from, bucketNanos), newestSlot - buckets.length + 1);
+        long lastSlot = Math.min(Math.floorDiv(toNanos - 1, bucketNanos), newestSlot);
+        for (long slot = firstSlot; slot <= lastSlot; slot++) {
+            Bucket bucket = buckets[(int) Math.floorMod(slot, (long) buckets.length)];
+            if (bucket.slot == slot) {
+                bucket.scanValues(from, toNanos, consumer);
+            }
+        }
+    }
+
+    /**
+     * Returns the sample with the latest timestamp, or null if it is older than the cutoff.
+     */
+    @Nullable
+    synchronized Metric latest(long cutoffNanos) {
+        if (latestNanos == Long.MIN_VALUE || latestNanos < cutoffNanos) {
+            return null;
+        }
+        if (latest == null) {
+            // Keep the materialized sample so repeated reads return the same object
+            latest = Metric.ofDouble(name, domain, latestType, latestValue, latestNanos, latestTags);
+        }
+        return latest;
+    }
+
+    /**
+     * Returns the number of retained samples not older than the cutoff.
+     */
+    synchronized int size(long cutoffNanos) {
+        if (newestSlot == Long.MIN_VALUE) {
+            return 0;
+        }
+        int size = 0;
+        long cutoffSlot = Math.floorDiv(cutoffNanos, bucketNanos);
+        for (Bucket bucket : buckets) {
+            if (bucket.slot >= cutoffSlot && bucket.slot > newestSlot - buckets.length) {
+                size += bucket.count;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Samples of one slice of time, in a ring that grows up to the bucket capacity and then
+     * overwrites its oldest sample.
+     */
+    private static final class Bucket {
+        private static final Metric[] NO_METRICS = new Metric[0];
+        private static final MetricType[] NO_TYPES = new MetricType[0];
+        private static final TagSet[] NO_TAGS = new TagSet[0];
+        private static final long[] NO_TIMESTAMPS = new long[0];
+        private static final double[] NO_VALUES = new double[0];
+
+        private long slot = Long.MIN_VALUE;
+        private long[] timestamps = NO_TIMESTAMPS;
+        private double[] values = NO_VALUES;
+        private MetricType[] types = NO_TYPES;
+        private TagSet[] tags = NO_TAGS;
+        // The recorded metric object, or null for samples held only in the columns
+        private Metric[] metrics = NO_METRICS;
+        private int head;
+        private int count;
+
+        void reset(long slot) {
+            this.slot = slot;
+            // Keep the arrays for reuse, but release the samples
+            Arrays.fill(metrics, null);
+            head = 0;
+            count = 0;
+        }
+
+        void add(Metric metric, MetricType type, double value, TagSet tagSet, long timestampNanos, int capacity) {
+            if (count == timestamps.length && count < capacity) {
+                int grown = Math.min(capacity, Math.max(8, count * 2));
+                timestamps = Arrays.copyOf(timestamps, grown);
+                values = Arrays.copyOf(values, grown);
+                types = Arrays.copyOf(types, grown);
+                tags = Arrays.copyOf(tags, grown);
+                metrics = Arrays.copyOf(metrics, grown);
+            }
+            int index;
+            if (count < timestamps.length) {
+                index = (head + count) % timestamps.length;
+                count++;
+            } else {
+                index = head;
+                head = (head + 1) % timestamps.length;
+            }
+            timestamps[index] = timestampNanos;
+            values[index] = value;
+            types[index] = type;
+            tags[index] = tagSet;
+            metrics[index] = metric;
+        }
+
+        void scan(long fromNanos, long toNanos, MetricSeries series, Consumer<Metric> action) {
+            for (int i = 0; i < count; i++) {
+                int index = (head + i) % timestamps.length;
+                long timestamp = timestamps[index];
+                if (timestamp >= fromNanos && timestamp < toNanos) {
+                    Metric metric = metrics[index];
+                    if (metric == null) {
+                        metric = Metric.ofDouble(series.name, series.domain, types[index], values[index], timestamp, tags[index]);
+                    }
+                    action.accept(metric);
+                }
+            }
+        }
+
+        void scanValues(long fromNanos, long toNanos, AbstractDomainMonitor.SampleConsumer consumer) {
+            for (int i = 0; i < count; i++) {
+                int index = (head + i) % timestamps.length;
+                long timestamp = timestamps[index];
+                Metric metric = metrics[index];
+                if (timestamp >= fromNanos && timestamp < toNanos && (metric == null || metric.isNumeric())) {
+                    consumer.accept(timestamp, values[index]);
+                }
+            }
+        }
+    }
+}
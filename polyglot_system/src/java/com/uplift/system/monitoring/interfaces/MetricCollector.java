@@ -1,7 +1,11 @@
 package com.uplift.system.monitoring.interfaces;
 
 import com.uplift.system.monitoring.models.Metric;
+import com.uplift.system.monitoring.models.TagSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +29,45 @@ public interface MetricCollector {
      */
     void recordMetrics(@NotNull List<Metric> metrics);
 
+    /**
+     * Records a gauge sample with no tags, timestamped now.
+     *
+     * @param name The metric name
+     * @param domain The domain of the metric
+     * @param value The sample value
+     * @throws com.uplift.system.monitoring.exceptions.MetricCollectionException if collection fails
+     */
+    default void recordDouble(@NotNull String name, @NotNull String domain, double value) {
+        recordDouble(name, domain, Metric.MetricType.GAUGE, value, TagSet.EMPTY);
+    }
+
+    /**
+     * Records a sample with a primitive value, timestamped now. The default builds a
+     * {@link Metric}; implementations that store primitive samples should override it so
+     * recording allocates nothing.
+     *
+     * @param name The metric name
+     * @param domain The domain of the metric
+     * @param type The metric type
+     * @param value The sample value
+     * @param tags The sample's tags
+     * @throws com.uplift.system.monitoring.exceptions.MetricCollectionException if collection fails
+     */
+    default void recordDouble(
+            @NotNull String name,
+            @NotNull String domain,
+            @NotNull Metric.MetricType type,
+            double value,
+            @NotNull TagSet tags) {
+        recordMetric(new Metric.Builder()
+            .name(name)
+            .doubleValue(value)
+            .type(type)
+            .domain(domain)
+            .tags(tags)
+            .build());
+    }
+
     /**
      * Retrieves metrics for a specific domain.
      *
@@ -33,6 +76,64 @@ public interface MetricCollector {
      */
     List<Metric> getMetricsForDomain(@NotNull String domain);
 
+    /**
+     * Retrieves the metrics of a domain recorded with timestamps in a range.
+     * The default filters {@link #getMetricsForDomain(String)}; implementations with an
+     * index by time should override it.
+     *
+     * @param domain The domain to get metrics for
+     * @param from The earliest timestamp, inclusive
+     * @param to The latest timestamp, exclusive
+     * @return List of metrics for the domain in the range
+     */
+    default List<Metric> getMetricsForDomain(@NotNull String domain, @NotNull Instant from, @NotNull Instant to) {
+        List<Metric> inRange = new ArrayList<>();
+        for (Metric metric : getMetricsForDomain(domain)) {
+            if (!metric.getTimestamp().isBefore(from) && metric.getTimestamp().isBefore(to)) {
+                inRange.add(metric);
+            }
+        }
+        return inRange;
+    }
+
+    /**
+     * Retrieves the samples of one metric of a domain recorded with timestamps in a range.
+     *
+     * @param domain The domain of the metric
+     * @param name The metric name
+     * @param from The earliest timestamp, inclusive
+     * @param to The latest timestamp, exclusive
+     * @return List of samples in the range
+     */
+    default List<Metric> getMetrics(@NotNull String domain, @NotNull String name, @NotNull Instant from, @NotNull Instant to) {
+        List<Metric> inRange = new ArrayList<>();
+        for (Metric metric : getMetricsForDomain(domain, from, to)) {
+            if (metric.getName().equals(name)) {
+                inRange.add(metric);
+            }
+        }
+        return inRange;
+    }
+
+    /**
+     * Retrieves the most recent sample of one metric of a domain.
+     *
+     * @param domain The domain of the metric
+     * @param name The metric name
+     * @return The sample with the latest timestamp, or null if none is retained
+     */
+    @Nullable
+    default Metric getLatestMetric(@NotNull String domain, @NotNull String name) {
+        Metric latest = null;
+        for (Metric metric : getMetricsForDomain(domain)) {
+            if (metric.getName().equals(name)
+                    && (latest == null || !metric.getTimestamp().isBefore(latest.getTimestamp()))) {
+                latest = metric;
+            }
+        }
+        return latest;
+    }
+
     /**
      * Retrieves all metrics.
      *
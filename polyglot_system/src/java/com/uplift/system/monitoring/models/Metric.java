@@ -8,13 +8,21 @@ import java.util.Objects;
 
 /**
  * Represents a single metric measurement with metadata.
+ *
+ * <p>Numeric values are held as a primitive double, timestamps as nanoseconds since the epoch
+ * and tags as an interned {@link TagSet}. {@link #getValue()} and {@link #getTimestamp()}
+ * create their boxed forms on first use, so code that reads {@link #getDoubleValue()} and
+ * {@link #getTimestampNanos()} never boxes.
  */
 public class Metric {
     private final String name;
-    private final Object value;
+    private Object value;
+    private final double doubleValue;
+    private final boolean numeric;
     private final MetricType type;
-    private final Instant timestamp;
-    private final Map<String, String> tags;
+    private final long timestampNanos;
+    private Instant timestamp;
+    private final TagSet tags;
     private final String domain;
 
     /**
@@ -30,21 +38,106 @@ public class Metric {
 
     private Metric(Builder builder) {
         this.name = Objects.requireNonNull(builder.name, "Metric name must not be null");
-        this.value = Objects.requireNonNull(builder.value, "Metric value must not be null");
+        this.numeric = builder.numeric;
+        this.value = numeric ? builder.value : Objects.requireNonNull(builder.value, "Metric value must not be null");
+        this.doubleValue = builder.doubleValue;
         this.type = Objects.requireNonNull(builder.type, "Metric type must not be null");
-        this.timestamp = Objects.requireNonNull(builder.timestamp, "Timestamp must not be null");
-        this.tags = new HashMap<>(builder.tags);
+        if (builder.timestamp != null) {
+            this.timestamp = builder.timestamp;
+            this.timestampNanos = toEpochNanos(builder.timestamp);
+        } else if (builder.hasTimestampNanos) {
+            this.timestampNanos = builder.timestampNanos;
+        } else {
+            throw new NullPointerException("Timestamp must not be null");
+        }
+        this.tags = builder.tags == null ? builder.baseTags : builder.baseTags.withAll(TagSet.of(builder.tags));
         this.domain = builder.domain;
     }
 
+    private Metric(Metric metric, TagSet tags) {
+        this.name = metric.name;
+        this.value = metric.value;
+        this.doubleValue = metric.doubleValue;
+        this.numeric = metric.numeric;
+        this.type = metric.type;
+        this.timestampNanos = metric.timestampNanos;
+        this.timestamp = metric.timestamp;
+        this.tags = tags;
+        this.domain = metric.domain;
+    }
+
+    private Metric(String name, String domain, MetricType type, double value, long timestampNanos, TagSet tags) {
+        this.name = Objects.requireNonNull(name, "Metric name must not be null");
+        this.domain = domain;
+        this.type = Objects.requireNonNull(type, "Metric type must not be null");
+        this.doubleValue = value;
+        this.numeric = true;
+        this.timestampNanos = timestampNanos;
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+    }
+
+    /**
+     * Creates a metric with a primitive value, without going through a builder.
+     *
+     * @param timestampNanos Nanoseconds since the epoch
+     */
+    @NotNull
+    public static Metric ofDouble(
+            @NotNull String name,
+            String domain,
+            @NotNull MetricType type,
+            double value,
+            long timestampNanos,
+            @NotNull TagSet tags) {
+        return new Metric(name, domain, type, value, timestampNanos, tags);
+    }
+
+    /**
+     * Converts an instant to nanoseconds since the epoch, saturating outside the range of a
+     * long (before 1677 or after 2262).
+     */
+    public static long toEpochNanos(@NotNull Instant instant) {
+        long seconds = instant.getEpochSecond();
+        if (seconds >= Long.MAX_VALUE / 1_000_000_000L) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1_000_000_000L) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1_000_000_000L + instant.getNano();
+    }
+
     @NotNull
     public String getName() {
         return name;
     }
 
+    /**
+     * Gets the value; numeric values set as a primitive are boxed to a {@link Double} on first
+     * call.
+     */
     @NotNull
     public Object getValue() {
-        return value;
+        Object boxed = value;
+        if (boxed == null) {
+            boxed = doubleValue;
+            value = boxed;
+        }
+        return boxed;
+    }
+
+    /**
+     * Returns whether the value is a number.
+     */
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * Gets the value as a double, or NaN if it is not a number.
+     */
+    public double getDoubleValue() {
+        return doubleValue;
     }
 
     @NotNull
@@ -54,12 +147,43 @@ public class Metric {
 
     @NotNull
     public Instant getTimestamp() {
-        return timestamp;
+        Instant instant = timestamp;
+        if (instant == null) {
+            instant = Instant.ofEpochSecond(
+                Math.floorDiv(timestampNanos, 1_000_000_000L), Math.floorMod(timestampNanos, 1_000_000_000L));
+            timestamp = instant;
+        }
+        return instant;
     }
 
+    /**
+     * Gets the timestamp in nanoseconds since the epoch.
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * Gets an unmodifiable view of the tags.
+     */
     @NotNull
     public Map<String, String> getTags() {
-        return new HashMap<>(tags);
+        return tags.asMap();
+    }
+
+    @NotNull
+    public TagSet getTagSet() {
+        return tags;
+    }
+
+    /**
+     * Returns this metric with its tags replaced, or this metric itself if they are the same
+     * set. The value is shared, not copied.
+     */
+    @NotNull
+    public Metric withTags(@NotNull TagSet tags) {
+        Objects.requireNonNull(tags, "Tags must not be null");
+        return tags == this.tags ? this : new Metric(this, tags);
     }
 
     public String getDomain() {
@@ -72,9 +196,14 @@ public class Metric {
     public static class Builder {
         private String name;
         private Object value;
+        private double doubleValue = Double.NaN;
+        private boolean numeric;
         private MetricType type;
         private Instant timestamp = Instant.now();
-        private final Map<String, String> tags = new HashMap<>();
+        private long timestampNanos;
+        private boolean hasTimestampNanos;
+        private TagSet baseTags = TagSet.EMPTY;
+        private Map<String, String> tags;
         private String domain;
 
         public Builder name(String name) {
@@ -84,6 +213,18 @@ public class Metric {
 
         public Builder value(Object value) {
             this.value = value;
+            this.numeric = value instanceof Number;
+            this.doubleValue = numeric ? ((Number) value).doubleValue() : Double.NaN;
+            return this;
+        }
+
+        /**
+         * Sets a numeric value without boxing it.
+         */
+        public Builder doubleValue(double value) {
+            this.value = null;
+            this.numeric = true;
+            this.doubleValue = value;
             return this;
         }
 
@@ -94,10 +235,33 @@ public class Metric {
 
         public Builder timestamp(Instant timestamp) {
             this.timestamp = timestamp;
+            this.hasTimestampNanos = false;
+            return this;
+        }
+
+        /**
+         * Sets the timestamp in nanoseconds since the epoch.
+         */
+        public Builder timestampNanos(long timestampNanos) {
+            this.timestamp = null;
+            this.timestampNanos = timestampNanos;
+            this.hasTimestampNanos = true;
+            return this;
+        }
+
+        /**
+         * Sets the tags the metric starts with; tags added through {@link #addTag} are applied
+         * on top.
+         */
+        public Builder tags(@NotNull TagSet tags) {
+            this.baseTags = Objects.requireNonNull(tags, "Tags must not be null");
             return this;
         }
 
         public Builder addTag(String key, String value) {
+            if (tags == null) {
+                tags = new HashMap<>();
+            }
             this.tags.put(key, value);
             return this;
         }
@@ -111,4 +275,4 @@ public class Metric {
             return new Metric(this);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.uplift.system.monitoring.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, interned set of metric tags.
+ *
+ * <p>Tags are kept as parallel key and value arrays sorted by key. Equal tag sets obtained
+ * through {@link #of(Map)} or {@link #with(String, String)} are the same instance, so every
+ * sample of a series can share one reference instead of carrying its own map. The intern pool
+ * holds at most {@value #MAX_INTERNED} sets; beyond that new sets are returned uninterned,
+ * which keeps high-cardinality tags from growing it without bound.
+ */
+public final class TagSet {
+    private static final int MAX_INTERNED = 65536;
+    private static final String[] NO_STRINGS = new String[0];
+    private static final ConcurrentHashMap<TagSet, TagSet> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * The set with no tags.
+     */
+    public static final TagSet EMPTY = intern(new TagSet(NO_STRINGS, NO_STRINGS));
+
+    private final String[] keys;
+    private final String[] values;
+    private final int hash;
+    private Map<String, String> view;
+
+    private TagSet(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.hash = 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+
+    /**
+     * Returns the interned tag set with the entries of the given map.
+     *
+     * @throws NullPointerException if a key or value is null
+     */
+    @NotNull
+    public static TagSet of(@NotNull Map<String, String> tags) {
+        Objects.requireNonNull(tags, "Tags must not be null");
+        if (tags.isEmpty()) {
+            return EMPTY;
+        }
+        if (tags instanceof View) {
+            return ((View) tags).owner();
+        }
+        String[] keys = new String[tags.size()];
+        int i = 0;
+        for (String key : tags.keySet()) {
+            keys[i++] = Objects.requireNonNull(key, "Tag key must not be null");
+        }
+        Arrays.sort(keys);
+        String[] values = new String[keys.length];
+        for (i = 0; i < keys.length; i++) {
+            values[i] = Objects.requireNonNull(tags.get(keys[i]), "Tag value must not be null");
+        }
+        return intern(new TagSet(keys, values));
+    }
+
+    /**
+     * Returns the interned tag set with this set's tags and the given one, replacing any
+     * existing value of the key.
+     */
+    @NotNull
+    public TagSet with(@NotNull String key, @NotNull String value) {
+        Objects.requireNonNull(key, "Tag key must not be null");
+        Objects.requireNonNull(value, "Tag value must not be null");
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            if (values[index].equals(value)) {
+                return this;
+            }
+            String[] updatedValues = values.clone();
+            updatedValues[index] = value;
+            return intern(new TagSet(keys, updatedValues));
+        }
+        int insertAt = -index - 1;
+        String[] updatedKeys = new String[keys.length + 1];
+        String[] updatedValues = new String[keys.length + 1];
+        System.arraycopy(keys, 0, updatedKeys, 0, insertAt);
+        System.arraycopy(values, 0, updatedValues, 0, insertAt);
+        updatedKeys[insertAt] = key;
+        updatedValues[insertAt] = value;
+        System.arraycopy(keys, insertAt, updatedKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(values, insertAt, updatedValues, insertAt + 1, keys.length - insertAt);
+        return intern(new TagSet(updatedKeys, updatedValues));
+    }
+
+    /**
+     * Returns the interned tag set with this set's tags followed by the other's; where both
+     * have a key, the other's value wins.
+     */
+    @NotNull
+    public TagSet withAll(@NotNull TagSet other) {
+        Objects.requireNonNull(other, "Tags must not be null");
+        TagSet merged = this;
+        for (int i = 0; i < other.keys.length; i++) {
+            merged = merged.with(other.keys[i], other.values[i]);
+        }
+        return merged;
+    }
+
+    /**
+     * Gets the value of a tag, or null if the set has no such tag.
+     */
+    @Nullable
+    public String get(@NotNull String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Returns an unmodifiable map view of the tags, in key order.
+     */
+    @NotNull
+    public Map<String, String> asMap() {
+        Map<String, String> map = view;
+        if (map == null) {
+            // Racing threads may each create a view; they are interchangeable
+            map = new View();
+            view = map;
+        }
+        return map;
+    }
+
+    private static TagSet intern(TagSet tags) {
+        TagSet interned = INTERNED.get(tags);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return tags;
+        }
+        interned = INTERNED.putIfAbsent(tags, tags);
+        return interned != null ? interned : tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TagSet)) return false;
+        TagSet other = (TagSet) o;
+        return hash == other.hash && Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    private final class View extends AbstractMap<String, String> {
+        TagSet owner() {
+            return TagSet.this;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && Arrays.binarySearch(keys, key) >= 0;
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String ? TagSet.this.get((String) key) : null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(keys[index], values[index]);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.uplift.system.transport;
+
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Carries events between this process and peer processes on the same host, in the frame
+ * format described by {@link TransportFrames}.
+ */
+public interface EventTransport extends AutoCloseable {
+
+    /**
+     * Sends an event to the peers.
+     *
+     * @param eventType The event type
+     * @param payload The event payload
+     * @return true if the event was handed to the transport, false if it was dropped
+     * @throws IllegalArgumentException if the payload cannot be encoded or is too large for a frame
+     */
+    boolean send(@NotNull String eventType, @NotNull Map<String, Object> payload);
+
+    /**
+     * Starts delivering events received from peers to the receiver, on a transport thread.
+     *
+     * @param receiver Called with the type and payload of each received event
+     * @throws IllegalStateException if the transport has already been started or closed
+     */
+    void start(@NotNull BiConsumer<String, Map<String, Object>> receiver);
+
+    @NotNull
+    Map<String, Object> getMetrics();
+
+    /**
+     * Stops receiving and releases the transport's resources.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,197 @@
+package com.uplift.system.transport;
+
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * A ring of frames in a memory-mapped file, written by any number of producers and read by
+ * one consumer, possibly in different processes.
+ *
+ * <p>Layout: a {@value #HEADER_SIZE}-byte header holding the magic, format version and data
+ * capacity, then the producer position (tail) and consumer position (head) as little-endian
+ * 64-bit counters on separate cache lines, followed by the data area, whose capacity is a
+ * power of two. Positions only grow; a position's index in the data area is
+ * {@code position & (capacity - 1)}.
+ *
+ * <p>A producer claims space by advancing the tail with a compare-and-set, writes the frame and
+ * then publishes it by storing its length with release semantics; the length word stays zero
+ * until then. The consumer reads the length with acquire semantics, so it never sees a frame
+ * before its contents, zeroes the frames it has consumed and then releases the space by
+ * advancing the head. A frame that would straddle the end of the data area is preceded by a
+ * padding frame up to the end. Peers without atomic compare-and-set, such as the Python
+ * reader, may only be the single producer of their ring.
+ */
+final class SharedMemoryRing {
+    static final int MAGIC = 0x55524E47; // "URNG"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 192;
+    static final int CAPACITY_POSITION = 8;
+    static final int TAIL_POSITION = 64;
+    static final int HEAD_POSITION = 128;
+
+    private static final VarHandle INT =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private long head;
+
+    private SharedMemoryRing(Path path, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.head = (long) LONG.getVolatile(buffer, HEAD_POSITION);
+    }
+
+    /**
+     * Maps the ring file, creating and initializing it if it does not hold a ring of the
+     * given capacity. An existing ring keeps its positions and unread frames.
+     *
+     * @param path The ring file
+     * @param capacity Size of the data area; must be a power of two
+     * @throws IllegalArgumentException if the capacity is not a power of two
+     * @throws IOException if the file cannot be created or mapped
+     */
+    @NotNull
+    static SharedMemoryRing open(@NotNull Path path, int capacity) throws IOException {
+        if (capacity < 1024 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least 1024");
+        }
+        long size = HEADER_SIZE + (long) capacity;
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            boolean reuse = file.length() == size;
+            if (!reuse) {
+                // Truncate first so a resized ring starts out zero-filled
+                file.setLength(0);
+                file.setLength(size);
+            }
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (!reuse || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(CAPACITY_POSITION) != capacity) {
+                initialize(buffer, capacity);
+            }
+        }
+        return new SharedMemoryRing(path, buffer, capacity);
+    }
+
+    private static void initialize(MappedByteBuffer buffer, int capacity) {
+        for (int i = 0; i < buffer.capacity(); i += 8) {
+            buffer.putLong(i, 0);
+        }
+        buffer.putInt(4, VERSION);
+        buffer.putInt(CAPACITY_POSITION, capacity);
+        // Peers wait for the magic, so it is written last
+        INT.setRelease(buffer, 0, MAGIC);
+    }
+
+    /**
+     * Writes an event frame if the ring has room for it. Safe to call from many threads.
+     *
+     * @return false if the ring is full
+     * @throws IllegalArgumentException if the frame can never fit in the ring
+     */
+    boolean offer(byte[] eventType, byte[] payload) {
+        int frameLength = TransportFrames.eventFrameLength(eventType, payload);
+        int required = TransportFrames.align(frameLength);
+        if (required > capacity) {
+            throw new IllegalArgumentException("Event frame of " + frameLength + " bytes exceeds the ring capacity");
+        }
+        long tail;
+        int padding;
+        do {
+            tail = (long) LONG.getVolatile(buffer, TAIL_POSITION);
+            long consumed = (long) LONG.getVolatile(buffer, HEAD_POSITION);
+            int toEnd = capacity - (int) (tail & mask);
+            padding = required > toEnd ? toEnd : 0;
+            if (tail + padding + required - consumed > capacity) {
+                return false;
+            }
+        } while (!LONG.compareAndSet(buffer, TAIL_POSITION, tail, tail + padding + required));
+
+        int index = HEADER_SIZE + (int) (tail & mask);
+        if (padding > 0) {
+            buffer.putInt(index + 4, TransportFrames.TYPE_PADDING);
+            INT.setRelease(buffer, index, padding);
+            index = HEADER_SIZE;
+        }
+        TransportFrames.putEvent(buffer, index, eventType, payload);
+        INT.setRelease(buffer, index, frameLength);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code limit} published event frames to the handler, in order. Must only be
+     * called by the ring's single consumer.
+     *
+     * @return The number of event frames handled
+     */
+    int poll(@NotNull FrameHandler handler, int limit) {
+        long position = head;
+        int handled = 0;
+        try {
+            while (handled < limit) {
+                int index = HEADER_SIZE + (int) (position & mask);
+                int length = (int) INT.getAcquire(buffer, index);
+                if (length == 0) {
+                    break;
+                }
+                int aligned = TransportFrames.align(length);
+                try {
+                    if (buffer.getInt(index + 4) == TransportFrames.TYPE_EVENT) {
+                        handled++;
+                        handler.onFrame(buffer, index + TransportFrames.HEADER_SIZE, length - TransportFrames.HEADER_SIZE);
+                    }
+                } finally {
+                    for (int i = 0; i < aligned; i += 8) {
+                        buffer.putLong(index + i, 0);
+                    }
+                    position += aligned;
+                }
+            }
+        } finally {
+            if (position != head) {
+                head = position;
+                LONG.setRelease(buffer, HEAD_POSITION, position);
+            }
+        }
+        return handled;
+    }
+
+    /**
+     * Returns the number of bytes claimed by producers and not yet consumed.
+     */
+    long getUsedBytes() {
+        return (long) LONG.getVolatile(buffer, TAIL_POSITION) - (long) LONG.getVolatile(buffer, HEAD_POSITION);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    @NotNull
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Receives the body of one frame, which is only valid during the call.
+     */
+    interface FrameHandler {
+        void onFrame(@NotNull ByteBuffer buffer, int index, int length);
+    }
+}
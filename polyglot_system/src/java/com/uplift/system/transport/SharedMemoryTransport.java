@@ -0,0 +1,176 @@
+package com.uplift.system.transport;
+
+import com.uplift.system.codec.PayloadCodec;
+import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Same-host transport over two {@link SharedMemoryRing} files in {@code transport.directory}:
+ * {@value #OUTBOUND_RING} carries events from this process to its peer, {@value #INBOUND_RING}
+ * carries the peer's events back. Events cross without a system call on either side.
+ *
+ * <p>Sending encodes the payload on the caller's thread and copies the frame into the ring;
+ * when the ring is full it retries for up to {@code transport.sendTimeout} before dropping the
+ * event. A reader thread polls the inbound ring, spinning briefly after each frame before it
+ * backs off to short parks, so a busy peer sees microsecond latencies without an idle
+ * transport burning a core.
+ */
+public final class SharedMemoryTransport implements EventTransport {
+
+    static final String OUTBOUND_RING = "java-to-peer.ring";
+    static final String INBOUND_RING = "peer-to-java.ring";
+
+    private static final Logger LOG = Logger.getLogger(SharedMemoryTransport.class.getName());
+    private static final int POLL_LIMIT = 256;
+    private static final int SPIN_POLLS = 1000;
+    private static final int YIELD_POLLS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final SharedMemoryRing outbound;
+    private final SharedMemoryRing inbound;
+    private final long sendTimeoutNanos;
+    private final CounterRegistry metrics;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter dropped;
+    private final Counter fullRetries;
+    private final Counter decodeErrors;
+    private Thread reader;
+    private volatile boolean running;
+
+    SharedMemoryTransport(@NotNull SharedMemoryRing outbound, @NotNull SharedMemoryRing inbound, long sendTimeoutNanos) {
+        this.outbound = Objects.requireNonNull(outbound, "Outbound ring must not be null");
+        this.inbound = Objects.requireNonNull(inbound, "Inbound ring must not be null");
+        this.sendTimeoutNanos = sendTimeoutNanos;
+        this.metrics = new CounterRegistry();
+        this.sent = metrics.counter("transport.sent");
+        this.received = metrics.counter("transport.received");
+        this.dropped = metrics.counter("transport.dropped");
+        this.fullRetries = metrics.counter("transport.fullRetries");
+        this.decodeErrors = metrics.counter("transport.decodeErrors");
+        this.running = true;
+    }
+
+    /**
+     * Maps, creating them if needed, the two ring files in {@code transport.directory}.
+     *
+     * @param config The system configuration
+     * @return The transport, not yet receiving
+     * @throws IOException if the directory or a ring file cannot be created or mapped
+     */
+    @NotNull
+    public static SharedMemoryTransport open(@NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(config, "Config must not be null");
+        Path directory = Paths.get(config.getSetting("transport.directory", "data/transport").toString());
+        Files.createDirectories(directory);
+        int capacity = config.getIntValue("transport.ringCapacity", 1024 * 1024);
+        long sendTimeoutNanos = config.getDurationValue("transport.sendTimeout", Duration.ofMillis(100)).toNanos();
+        return new SharedMemoryTransport(
+            SharedMemoryRing.open(directory.resolve(OUTBOUND_RING), capacity),
+            SharedMemoryRing.open(directory.resolve(INBOUND_RING), capacity),
+            sendTimeoutNanos);
+    }
+
+    @Override
+    public boolean send(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payload, "Payload must not be null");
+        byte[] type = eventType.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = PayloadCodec.encode(payload);
+        if (!outbound.offer(type, encoded)) {
+            long deadline = System.nanoTime() + sendTimeoutNanos;
+            do {
+                fullRetries.increment();
+                if (!running || System.nanoTime() - deadline >= 0) {
+                    dropped.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } while (!outbound.offer(type, encoded));
+        }
+        sent.increment();
+        return true;
+    }
+
+    @Override
+    public synchronized void start(@NotNull BiConsumer<String, Map<String, Object>> receiver) {
+        Objects.requireNonNull(receiver, "Receiver must not be null");
+        if (reader != null || !running) {
+            throw new IllegalStateException("Transport has already been started or closed");
+        }
+        SharedMemoryRing.FrameHandler handler = (buffer, index, length) -> {
+            try {
+                TransportFrames.readEvent(buffer, index, length, receiver);
+                received.increment();
+            } catch (IllegalArgumentException e) {
+                decodeErrors.increment();
+                LOG.log(Level.WARNING, "Dropped malformed frame from " + inbound.getPath(), e);
+            } catch (RuntimeException e) {
+                // Keep reading; a failing subscriber must not stall the peer
+                received.increment();
+                LOG.log(Level.SEVERE, "Error delivering event from transport", e);
+            }
+        };
+        reader = new Thread(() -> runReader(handler), "transport-shm-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> snapshot = metrics.snapshot();
+        snapshot.put("transport.mode", "shm");
+        snapshot.put("transport.outboundBytes", outbound.getUsedBytes());
+        snapshot.put("transport.inboundBytes", inbound.getUsedBytes());
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = reader;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runReader(SharedMemoryRing.FrameHandler handler) {
+        int idlePolls = 0;
+        while (running) {
+            if (inbound.poll(handler, POLL_LIMIT) > 0) {
+                idlePolls = 0;
+            } else if (++idlePolls <= SPIN_POLLS) {
+                Thread.onSpinWait();
+            } else if (idlePolls <= SPIN_POLLS + YIELD_POLLS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.uplift.system.transport;
+
+import com.uplift.system.config.SystemConfig;
+import com.uplift.system.events.DomainAwareEventBus;
+import org.jetbrains.annotations.NotNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connects a {@link DomainAwareEventBus} to peer processes through an {@link EventTransport}.
+ *
+ * <p>Events published on the bus whose type matches one of the bridge's topics are sent to the
+ * peers through a bus tap, on the publishing thread. Events from peers are handed to
+ * {@link DomainAwareEventBus#receive}, so they reach local subscribers but are not sent back.
+ *
+ * <p>{@code transport.mode} selects the transport: "shm" for {@link SharedMemoryTransport},
+ * "uds" for {@link UnixSocketTransport}, or "auto" (the default) for shared memory, falling
+ * back to the socket when the ring files cannot be mapped.
+ */
+public final class TransportBridge implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(TransportBridge.class.getName());
+
+    private final DomainAwareEventBus bus;
+    private final EventTransport transport;
+    private final BiConsumer<String, Map<String, Object>> tap;
+
+    /**
+     * Bridges the bus over an opened transport and starts receiving from it.
+     *
+     * @param bus The bus to bridge
+     * @param transport The transport to peers; closed with the bridge
+     * @param topics Event types or patterns with "*" and "#" segments to send to peers
+     */
+    public TransportBridge(
+            @NotNull DomainAwareEventBus bus,
+            @NotNull EventTransport transport,
+            @NotNull List<String> topics) {
+        this.bus = Objects.requireNonNull(bus, "Bus must not be null");
+        this.transport = Objects.requireNonNull(transport, "Transport must not be null");
+        Objects.requireNonNull(topics, "Topics must not be null");
+        this.tap = this::forward;
+        for (String topic : topics) {
+            bus.tap(topic, tap);
+        }
+        transport.start(bus::receive);
+    }
+
+    /**
+     * Opens the transport selected by {@code transport.mode} and bridges the bus over it,
+     * sending the event types listed in {@code transport.topics} (comma-separated).
+     *
+     * @param bus The bus to bridge
+     * @param config The system configuration
+     * @return The running bridge
+     * @throws IOException if the transport cannot be opened
+     * @throws IllegalArgumentException if the transport mode is unknown
+     */
+    @NotNull
+    public static TransportBridge open(@NotNull DomainAwareEventBus bus, @NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(config, "Config must not be null");
+        List<String> topics = new ArrayList<>();
+        for (String topic : config.getSetting("transport.topics", "#").toString().split(",")) {
+            if (!topic.trim().isEmpty()) {
+                topics.add(topic.trim());
+            }
+        }
+        return new TransportBridge(bus, openTransport(config), topics);
+    }
+
+    /**
+     * Opens the transport selected by {@code transport.mode}.
+     *
+     * @param config The system configuration
+     * @return The opened transport, not yet receiving
+     * @throws IOException if the transport cannot be opened
+     * @throws IllegalArgumentException if the transport mode is unknown
+     */
+    @NotNull
+    public static EventTransport openTransport(@NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(config, "Config must not be null");
+        String mode = config.getSetting("transport.mode", "auto").toString().toLowerCase();
+        switch (mode) {
+            case "shm":
+                return SharedMemoryTransport.open(config);
+            case "uds":
+                return UnixSocketTransport.open(config);
+            case "auto":
+                try {
+                    return SharedMemoryTransport.open(config);
+                } catch (IOException e) {
+                    LOG.log(Level.WARNING, "Shared-memory transport unavailable, falling back to Unix domain socket", e);
+                    return UnixSocketTransport.open(config);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown transport mode: " + mode);
+        }
+    }
+
+    @NotNull
+    public EventTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Stops sending bus events and closes the transport.
+     */
+    @Override
+    public void close() {
+        bus.untap(tap);
+        transport.close();
+    }
+
+    private void forward(String eventType, Map<String, Object> payload) {
+        try {
+            transport.send(eventType, payload);
+        } catch (IllegalArgumentException e) {
+            // The event still reaches local subscribers
+            LOG.log(Level.WARNING, "Cannot send event " + eventType + " to transport peers", e);
+        }
+    }
+}
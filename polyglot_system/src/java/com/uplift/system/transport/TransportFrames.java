@@ -0,0 +1,78 @@
+package com.uplift.system.transport;
+
+import com.uplift.system.codec.PayloadCodec;
+import org.jetbrains.annotations.NotNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * The language-neutral frame format shared by the transports and the Python and Rust peers.
+ *
+ * <p>A frame is {@code [int32 length][int32 type][body]}, where the length counts header and
+ * body. The body of an event frame is {@code [int32 typeLength][event type UTF-8][payload]},
+ * with the payload encoded by {@link PayloadCodec}. Frame fields are little-endian, the byte
+ * order of every host the bridge targets, so peers can read the length word with a native
+ * atomic load; the payload keeps the codec's own byte order.
+ *
+ * <p>In a {@link SharedMemoryRing} frames start on {@value #ALIGNMENT}-byte boundaries and a
+ * padding frame fills the space left before the ring wraps. Over a socket frames follow each
+ * other without alignment or padding.
+ */
+final class TransportFrames {
+    static final int HEADER_SIZE = 8;
+    static final int ALIGNMENT = 8;
+    static final int TYPE_EVENT = 1;
+    static final int TYPE_PADDING = 2;
+
+    private TransportFrames() {
+    }
+
+    /**
+     * Returns the unaligned length of an event frame.
+     */
+    static int eventFrameLength(byte[] eventType, byte[] payload) {
+        return HEADER_SIZE + 4 + eventType.length + payload.length;
+    }
+
+    static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Writes an event frame's type and body at the given index. The length word is left to
+     * the caller, which publishes it last.
+     */
+    static void putEvent(@NotNull ByteBuffer target, int index, byte[] eventType, byte[] payload) {
+        target.putInt(index + 4, TYPE_EVENT);
+        target.putInt(index + HEADER_SIZE, eventType.length);
+        target.put(index + HEADER_SIZE + 4, eventType);
+        target.put(index + HEADER_SIZE + 4 + eventType.length, payload);
+    }
+
+    /**
+     * Decodes the body of an event frame and passes the event to the receiver.
+     *
+     * @param buffer A little-endian buffer holding the body
+     * @param index Position of the body in the buffer
+     * @param length Length of the body
+     * @throws IllegalArgumentException if the body is malformed
+     */
+    static void readEvent(
+            @NotNull ByteBuffer buffer,
+            int index,
+            int length,
+            @NotNull BiConsumer<String, Map<String, Object>> receiver) {
+        int typeLength = buffer.getInt(index);
+        if (typeLength < 0 || typeLength > length - 4) {
+            throw new IllegalArgumentException("Malformed event frame");
+        }
+        byte[] type = new byte[typeLength];
+        buffer.get(index + 4, type);
+        Map<String, Object> payload = PayloadCodec.decode(
+            buffer.slice(index + 4 + typeLength, length - 4 - typeLength).order(ByteOrder.BIG_ENDIAN));
+        receiver.accept(new String(type, StandardCharsets.UTF_8), payload);
+    }
+}
@@ -0,0 +1,258 @@
+package com.uplift.system.transport;
+
+import com.uplift.system.codec.PayloadCodec;
+import com.uplift.system.config.SystemConfig;
+import com.uplift.system.monitoring.CounterRegistry;
+import com.uplift.system.monitoring.CounterRegistry.Counter;
+import org.jetbrains.annotations.NotNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Same-host transport over a Unix domain socket at {@code transport.socketPath}, for peers
+ * that cannot share a mapped file, e.g. across container boundaries.
+ *
+ * <p>This process listens; every connected peer receives each sent event, and events from any
+ * peer are passed to the receiver. Frames have the {@link TransportFrames} format without
+ * alignment. A send writes the frame to each peer on the caller's thread, so a peer that
+ * stops reading slows publishers down once its socket buffer is full; a peer whose
+ * connection fails is dropped.
+ */
+public final class UnixSocketTransport implements EventTransport {
+
+    private static final Logger LOG = Logger.getLogger(UnixSocketTransport.class.getName());
+    private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private final Path socketPath;
+    private final ServerSocketChannel server;
+    private final List<Peer> peers;
+    private final CounterRegistry metrics;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter dropped;
+    private final Counter decodeErrors;
+    private final Counter connections;
+    private BiConsumer<String, Map<String, Object>> receiver;
+    private volatile boolean running;
+
+    private UnixSocketTransport(Path socketPath, ServerSocketChannel server) {
+        this.socketPath = socketPath;
+        this.server = server;
+        this.peers = new CopyOnWriteArrayList<>();
+        this.metrics = new CounterRegistry();
+        this.sent = metrics.counter("transport.sent");
+        this.received = metrics.counter("transport.received");
+        this.dropped = metrics.counter("transport.dropped");
+        this.decodeErrors = metrics.counter("transport.decodeErrors");
+        this.connections = metrics.counter("transport.connections");
+        this.running = true;
+    }
+
+    /**
+     * Binds the socket at {@code transport.socketPath}, replacing a stale socket file.
+     *
+     * @param config The system configuration
+     * @return The transport, not yet accepting peers
+     * @throws IOException if the socket cannot be bound
+     */
+    @NotNull
+    public static UnixSocketTransport open(@NotNull SystemConfig config) throws IOException {
+        Objects.requireNonNull(config, "Config must not be null");
+        Path socketPath = Paths.get(config.getSetting("transport.socketPath", "data/transport/bus.sock").toString());
+        if (socketPath.getParent() != null) {
+            Files.createDirectories(socketPath.getParent());
+        }
+        Files.deleteIfExists(socketPath);
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        return new UnixSocketTransport(socketPath, server);
+    }
+
+    @Override
+    public boolean send(@NotNull String eventType, @NotNull Map<String, Object> payload) {
+        Objects.requireNonNull(eventType, "Event type must not be null");
+        Objects.requireNonNull(payload, "Payload must not be null");
+        byte[] type = eventType.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = PayloadCodec.encode(payload);
+        int length = TransportFrames.eventFrameLength(type, encoded);
+        if (length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Event frame of " + length + " bytes exceeds the maximum frame size");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putInt(0, length);
+        TransportFrames.putEvent(frame, 0, type, encoded);
+        boolean delivered = false;
+        for (Peer peer : peers) {
+            delivered |= peer.write(frame.duplicate());
+        }
+        if (delivered) {
+            sent.increment();
+        } else {
+            dropped.increment();
+        }
+        return delivered;
+    }
+
+    @Override
+    public synchronized void start(@NotNull BiConsumer<String, Map<String, Object>> receiver) {
+        Objects.requireNonNull(receiver, "Receiver must not be null");
+        if (this.receiver != null || !running) {
+            throw new IllegalStateException("Transport has already been started or closed");
+        }
+        this.receiver = receiver;
+        Thread acceptor = new Thread(this::runAcceptor, "transport-uds-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> snapshot = metrics.snapshot();
+        snapshot.put("transport.mode", "uds");
+        snapshot.put("transport.peers", peers.size());
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            server.close();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to close transport socket", e);
+        }
+        for (Peer peer : peers) {
+            peer.close();
+        }
+        try {
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to delete socket file " + socketPath, e);
+        }
+    }
+
+    private void runAcceptor() {
+        while (running) {
+            try {
+                Peer peer = new Peer(server.accept());
+                peers.add(peer);
+                connections.increment();
+                Thread thread = new Thread(() -> runPeerReader(peer), "transport-uds-reader");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to accept transport peer", e);
+            }
+        }
+    }
+
+    private void runPeerReader(Peer peer) {
+        ByteBuffer header = ByteBuffer.allocate(TransportFrames.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            while (running) {
+                header.clear();
+                readFully(peer.channel, header);
+                int length = header.getInt(0);
+                if (length < TransportFrames.HEADER_SIZE || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid frame length " + length);
+                }
+                ByteBuffer body = ByteBuffer.allocate(length - TransportFrames.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(peer.channel, body);
+                if (header.getInt(4) != TransportFrames.TYPE_EVENT) {
+                    continue;
+                }
+                try {
+                    TransportFrames.readEvent(body, 0, body.capacity(), receiver);
+                    received.increment();
+                } catch (IllegalArgumentException e) {
+                    decodeErrors.increment();
+                    LOG.log(Level.WARNING, "Dropped malformed frame from transport peer", e);
+                } catch (RuntimeException e) {
+                    received.increment();
+                    LOG.log(Level.SEVERE, "Error delivering event from transport", e);
+                }
+            }
+        } catch (EOFException | ClosedChannelException e) {
+            // Peer disconnected or transport closed
+        } catch (IOException e) {
+            if (running) {
+                LOG.log(Level.WARNING, "Transport peer connection failed", e);
+            }
+        } finally {
+            peers.remove(peer);
+            peer.close();
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * A connected peer; writes are serialized so frames from concurrent senders don't interleave.
+     */
+    private final class Peer {
+        private final SocketChannel channel;
+        private final ReentrantLock writeLock;
+
+        Peer(SocketChannel channel) {
+            this.channel = channel;
+            this.writeLock = new ReentrantLock();
+        }
+
+        boolean write(ByteBuffer frame) {
+            writeLock.lock();
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+                return true;
+            } catch (IOException e) {
+                peers.remove(this);
+                close();
+                return false;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Failed to close transport peer", e);
+            }
+        }
+    }
+}
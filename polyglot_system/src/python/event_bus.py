@@ -1,12 +1,428 @@
-from typing import Any, Dict
+"""In-process event bus with a same-host bridge to the Java DomainAwareEventBus.
+
+The bridge speaks the Java transport's frame format (see TransportFrames.java):
+frames are ``[int32 length][int32 type][body]`` with little-endian header fields,
+and an event body is ``[int32 typeLength][event type UTF-8][payload]`` with the
+payload in the PayloadCodec encoding (a key dictionary followed by tagged values
+with varint lengths and integers).
+
+Two transports are provided:
+
+* ``ShmTransport`` maps the ring files the Java side creates in
+  ``transport.directory``. This process is the single consumer of
+  ``java-to-peer.ring`` and the single producer of ``peer-to-java.ring``.
+  Ordering relies on CPython's in-order stores and loads on x86-64; use the Rust
+  reader on weakly ordered CPUs.
+* ``UdsTransport`` connects to ``transport.socketPath`` when the ring files
+  cannot be shared.
+
+Run ``python3 event_bus.py echo <directory>`` to answer every ``bench.ping``
+event with a ``bench.pong`` carrying the same payload, for round-trip latency
+measurements against the Java side.
+"""
+
+import mmap
+import socket
+import struct
+import sys
+import threading
+import time
+from typing import Any, Callable, Dict, Iterable, List, Tuple
+
+Listener = Callable[[Dict[str, Any]], None]
+Receiver = Callable[[str, Dict[str, Any]], None]
+
+FRAME_HEADER_SIZE = 8
+FRAME_ALIGNMENT = 8
+FRAME_EVENT = 1
+FRAME_PADDING = 2
+
+RING_MAGIC = 0x55524E47
+RING_VERSION = 2
+RING_HEADER_SIZE = 192
+RING_CAPACITY_POSITION = 8
+RING_TAIL_POSITION = 64
+RING_HEAD_POSITION = 128
+
+OUTBOUND_RING = "peer-to-java.ring"
+INBOUND_RING = "java-to-peer.ring"
+
+CORRELATION_ID = "correlationId"
+REPLY_EVENT_TYPE = "bus.reply"
+
+PAYLOAD_VERSION = 2
+_NULL, _FALSE, _TRUE, _INT, _FLOAT, _DOUBLE, _STRING, _BYTES, _LIST, _MAP = range(10)
+
+
+def encode_payload(payload: Dict[str, Any]) -> bytes:
+    """Encodes a payload in the PayloadCodec format: a version byte, the key dictionary
+    and the root map, with varint lengths and zigzag varint integers."""
+    keys: Dict[str, int] = {}
+    _collect_keys(payload, keys)
+    out = bytearray([PAYLOAD_VERSION])
+    _write_varint(out, len(keys))
+    for key in keys:
+        _write_bytes(out, key.encode("utf-8"))
+    _write_value(out, payload, keys)
+    return bytes(out)
+
+
+def _collect_keys(value: Any, keys: Dict[str, int]) -> None:
+    if isinstance(value, dict):
+        for key, element in value.items():
+            if not isinstance(key, str):
+                raise ValueError("Payload map keys must be strings")
+            keys.setdefault(key, len(keys))
+            _collect_keys(element, keys)
+    elif isinstance(value, (list, tuple)):
+        for element in value:
+            _collect_keys(element, keys)
+
+
+def _write_varint(out: bytearray, value: int) -> None:
+    while value > 0x7F:
+        out.append((value & 0x7F) | 0x80)
+        value >>= 7
+    out.append(value)
+
+
+def _write_bytes(out: bytearray, data: bytes) -> None:
+    _write_varint(out, len(data))
+    out += data
+
+
+def _write_container(out: bytearray, tag: int, count: int, content: bytearray) -> None:
+    out.append(tag)
+    _write_varint(out, count)
+    out += struct.pack(">i", len(content)) + content
+
+
+def _write_value(out: bytearray, value: Any, keys: Dict[str, int]) -> None:
+    if value is None:
+        out.append(_NULL)
+    elif isinstance(value, bool):
+        out.append(_TRUE if value else _FALSE)
+    elif isinstance(value, int):
+        out.append(_INT)
+        _write_varint(out, ((value << 1) ^ (value >> 63)) & 0xFFFFFFFFFFFFFFFF)
+    elif isinstance(value, float):
+        narrowed = struct.unpack(">f", struct.pack(">f", value))[0] if abs(value) <= 3.4e38 else None
+        if narrowed == value:
+            out.append(_FLOAT)
+            out += struct.pack(">f", value)
+        else:
+            out.append(_DOUBLE)
+            out += struct.pack(">d", value)
+    elif isinstance(value, str):
+        out.append(_STRING)
+        _write_bytes(out, value.encode("utf-8"))
+    elif isinstance(value, (bytes, bytearray)):
+        out.append(_BYTES)
+        _write_bytes(out, bytes(value))
+    elif isinstance(value, (list, tuple)):
+        content = bytearray()
+        for element in value:
+            _write_value(content, element, keys)
+        _write_container(out, _LIST, len(value), content)
+    elif isinstance(value, dict):
+        content = bytearray()
+        for key, element in value.items():
+            _write_varint(content, keys[key])
+            _write_value(content, element, keys)
+        _write_container(out, _MAP, len(value), content)
+    else:
+        raise ValueError("Cannot encode payload value of type " + type(value).__name__)
+
+
+def decode_payload(data: memoryview) -> Dict[str, Any]:
+    """Decodes a payload in the PayloadCodec format."""
+    if data[0] != PAYLOAD_VERSION:
+        raise ValueError("Unsupported payload format version %d" % data[0])
+    count, position = _read_varint(data, 1)
+    keys = []
+    for _ in range(count):
+        length, position = _read_varint(data, position)
+        keys.append(bytes(data[position:position + length]).decode("utf-8"))
+        position += length
+    if data[position] != _MAP:
+        raise ValueError("Encoded payload must hold a map")
+    value, _ = _read_value(data, position, keys)
+    return value
+
+
+def _read_varint(data: memoryview, position: int) -> Tuple[int, int]:
+    value = 0
+    shift = 0
+    while True:
+        byte = data[position]
+        position += 1
+        value |= (byte & 0x7F) << shift
+        if byte < 0x80:
+            return value, position
+        shift += 7
+
+
+def _read_value(data: memoryview, position: int, keys: List[str]) -> Tuple[Any, int]:
+    tag = data[position]
+    position += 1
+    if tag == _NULL:
+        return None, position
+    if tag == _FALSE:
+        return False, position
+    if tag == _TRUE:
+        return True, position
+    if tag == _INT:
+        zigzag, position = _read_varint(data, position)
+        return (zigzag >> 1) ^ -(zigzag & 1), position
+    if tag == _FLOAT:
+        return struct.unpack_from(">f", data, position)[0], position + 4
+    if tag == _DOUBLE:
+        return struct.unpack_from(">d", data, position)[0], position + 8
+    if tag in (_STRING, _BYTES):
+        length, position = _read_varint(data, position)
+        raw = bytes(data[position:position + length])
+        return (raw.decode("utf-8") if tag == _STRING else raw), position + length
+    if tag == _LIST:
+        size, position = _read_varint(data, position)
+        position += 4
+        items = []
+        for _ in range(size):
+            item, position = _read_value(data, position, keys)
+            items.append(item)
+        return items, position
+    if tag == _MAP:
+        size, position = _read_varint(data, position)
+        position += 4
+        result = {}
+        for _ in range(size):
+            index, position = _read_varint(data, position)
+            result[keys[index]], position = _read_value(data, position, keys)
+        return result, position
+    raise ValueError("Unknown value tag %d" % tag)
+
+
+def encode_event_body(event_type: str, payload: Dict[str, Any]) -> bytes:
+    type_bytes = event_type.encode("utf-8")
+    return struct.pack("<i", len(type_bytes)) + type_bytes + encode_payload(payload)
+
+
+def decode_event_body(body: memoryview) -> Tuple[str, Dict[str, Any]]:
+    type_length = struct.unpack_from("<i", body, 0)[0]
+    if type_length < 0 or type_length > len(body) - 4:
+        raise ValueError("Malformed event frame")
+    event_type = bytes(body[4:4 + type_length]).decode("utf-8")
+    return event_type, decode_payload(body[4 + type_length:])
+
+
+def topic_matches(pattern: str, event_type: str) -> bool:
+    """Matches an event type against a pattern where "*" is one segment and "#" any number."""
+    return _match_segments(pattern.split("."), 0, event_type.split("."), 0)
+
+
+def _match_segments(pattern: List[str], p: int, segments: List[str], s: int) -> bool:
+    if p == len(pattern):
+        return s == len(segments)
+    if pattern[p] == "#":
+        return any(_match_segments(pattern, p + 1, segments, n) for n in range(s, len(segments) + 1))
+    if s == len(segments):
+        return False
+    return (pattern[p] == "*" or pattern[p] == segments[s]) and _match_segments(pattern, p + 1, segments, s + 1)
+
+
+class SharedMemoryRing:
+    """A ring file created by the Java SharedMemoryRing, used by one reader or one writer."""
+
+    def __init__(self, path: str, timeout: float = 10.0):
+        deadline = time.monotonic() + timeout
+        while True:
+            try:
+                with open(path, "r+b") as file:
+                    self._map = mmap.mmap(file.fileno(), 0)
+                if struct.unpack_from("<i", self._map, 0)[0] == RING_MAGIC:
+                    break
+                self._map.close()
+            except (FileNotFoundError, ValueError):
+                pass
+            if time.monotonic() > deadline:
+                raise TimeoutError("Ring %s was not initialized" % path)
+            time.sleep(0.05)
+        if struct.unpack_from("<i", self._map, 4)[0] != RING_VERSION:
+            raise ValueError("Unsupported ring version in %s" % path)
+        self.capacity = struct.unpack_from("<i", self._map, RING_CAPACITY_POSITION)[0]
+        self._mask = self.capacity - 1
+        self._head = struct.unpack_from("<q", self._map, RING_HEAD_POSITION)[0]
+        self._tail = struct.unpack_from("<q", self._map, RING_TAIL_POSITION)[0]
+
+    def offer(self, body: bytes) -> bool:
+        """Writes an event frame; only one thread in one process may write to a ring."""
+        length = FRAME_HEADER_SIZE + len(body)
+        required = (length + FRAME_ALIGNMENT - 1) & -FRAME_ALIGNMENT
+        if required > self.capacity:
+            raise ValueError("Event frame of %d bytes exceeds the ring capacity" % length)
+        tail = self._tail
+        head = struct.unpack_from("<q", self._map, RING_HEAD_POSITION)[0]
+        to_end = self.capacity - (tail & self._mask)
+        padding = to_end if required > to_end else 0
+        if tail + padding + required - head > self.capacity:
+            return False
+        self._tail = tail + padding + required
+        struct.pack_into("<q", self._map, RING_TAIL_POSITION, self._tail)
+        index = RING_HEADER_SIZE + (tail & self._mask)
+        if padding:
+            struct.pack_into("<i", self._map, index + 4, FRAME_PADDING)
+            struct.pack_into("<i", self._map, index, padding)
+            index = RING_HEADER_SIZE
+        struct.pack_into("<i", self._map, index + 4, FRAME_EVENT)
+        self._map[index + FRAME_HEADER_SIZE:index + length] = body
+        # The length is written last; the reader ignores the frame until it is set
+        struct.pack_into("<i", self._map, index, length)
+        return True
+
+    def poll(self, receiver: Receiver, limit: int = 256) -> int:
+        """Passes up to ``limit`` events to the receiver; only one reader may poll a ring."""
+        view = memoryview(self._map)
+        position = self._head
+        handled = 0
+        try:
+            while handled < limit:
+                index = RING_HEADER_SIZE + (position & self._mask)
+                length = struct.unpack_from("<i", view, index)[0]
+                if length == 0:
+                    break
+                aligned = (length + FRAME_ALIGNMENT - 1) & -FRAME_ALIGNMENT
+                try:
+                    if struct.unpack_from("<i", view, index + 4)[0] == FRAME_EVENT:
+                        handled += 1
+                        receiver(*decode_event_body(view[index + FRAME_HEADER_SIZE:index + length]))
+                finally:
+                    view[index:index + aligned] = bytes(aligned)
+                    position += aligned
+        finally:
+            view.release()
+            if position != self._head:
+                self._head = position
+                struct.pack_into("<q", self._map, RING_HEAD_POSITION, position)
+        return handled
+
+    def close(self) -> None:
+        self._map.close()
+
+
+class ShmTransport:
+    """Peer side of the Java SharedMemoryTransport."""
+
+    def __init__(self, directory: str, send_timeout: float = 0.1):
+        self._inbound = SharedMemoryRing(directory + "/" + INBOUND_RING)
+        self._outbound = SharedMemoryRing(directory + "/" + OUTBOUND_RING)
+        self._send_timeout = send_timeout
+        self._lock = threading.Lock()
+        self._running = True
+
+    def send(self, event_type: str, payload: Dict[str, Any]) -> bool:
+        body = encode_event_body(event_type, payload)
+        deadline = time.monotonic() + self._send_timeout
+        with self._lock:
+            while not self._outbound.offer(body):
+                if time.monotonic() > deadline:
+                    return False
+                time.sleep(0.00001)
+        return True
+
+    def receive_loop(self, receiver: Receiver) -> None:
+        idle = 0
+        while self._running:
+            if self._inbound.poll(receiver):
+                idle = 0
+            elif idle < 100:
+                # Yield rather than spin so a writer sharing the core can make progress
+                idle += 1
+                time.sleep(0)
+            else:
+                time.sleep(0.00005)
+
+    def close(self) -> None:
+        self._running = False
+
+
+class UdsTransport:
+    """Peer side of the Java UnixSocketTransport."""
+
+    def __init__(self, socket_path: str):
+        self._socket = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+        self._socket.connect(socket_path)
+        self._lock = threading.Lock()
+
+    def send(self, event_type: str, payload: Dict[str, Any]) -> bool:
+        body = encode_event_body(event_type, payload)
+        frame = struct.pack("<ii", FRAME_HEADER_SIZE + len(body), FRAME_EVENT) + body
+        with self._lock:
+            self._socket.sendall(frame)
+        return True
+
+    def receive_loop(self, receiver: Receiver) -> None:
+        stream = self._socket.makefile("rb")
+        while True:
+            header = stream.read(FRAME_HEADER_SIZE)
+            if len(header) < FRAME_HEADER_SIZE:
+                return
+            length, frame_type = struct.unpack("<ii", header)
+            body = stream.read(length - FRAME_HEADER_SIZE)
+            if frame_type == FRAME_EVENT:
+                receiver(*decode_event_body(memoryview(body)))
+
+    def close(self) -> None:
+        self._socket.close()
+
 
 class EventBus:
     def __init__(self, config: Dict[str, Any]):
         self.config = config
-        self.listeners = {}
+        self.listeners: Dict[str, List[Listener]] = {}
+        self._transport = None
+        self._topics: List[str] = []
 
     def publish(self, event_type: str, payload: Dict[str, Any]):
-        pass
+        if self._transport is not None and any(topic_matches(t, event_type) for t in self._topics):
+            self._transport.send(event_type, payload)
+        self._deliver(event_type, payload)
 
     def subscribe(self, event_type: str, listener):
-        pass
\ No newline at end of file
+        self.listeners.setdefault(event_type, []).append(listener)
+
+    def reply(self, request: Dict[str, Any], response: Dict[str, Any]) -> bool:
+        """Answers a request from the connected Java bus, which completes the waiting
+        request future directly. Returns False if there is no transport or the send failed."""
+        if self._transport is None or CORRELATION_ID not in request:
+            return False
+        return self._transport.send(REPLY_EVENT_TYPE, dict(response, **{CORRELATION_ID: request[CORRELATION_ID]}))
+
+    def connect(self, transport, topics: Iterable[str] = ("#",)) -> threading.Thread:
+        """Sends published events matching ``topics`` to the transport and delivers its
+        events to local listeners on a background thread, without sending them back."""
+        self._transport = transport
+        self._topics = list(topics)
+        thread = threading.Thread(target=transport.receive_loop, args=(self._deliver,),
+                                  name="transport-reader", daemon=True)
+        thread.start()
+        return thread
+
+    def _deliver(self, event_type: str, payload: Dict[str, Any]) -> None:
+        for pattern, listeners in list(self.listeners.items()):
+            if pattern == event_type or topic_matches(pattern, event_type):
+                for listener in listeners:
+                    listener(payload)
+
+
+def _echo(argv: List[str]) -> None:
+    target = argv[0] if argv else "data/transport"
+    transport = UdsTransport(target) if target.endswith(".sock") else ShmTransport(target)
+    bus = EventBus({})
+    bus.subscribe("bench.ping", lambda payload: bus.publish("bench.pong", payload))
+    bus.connect(transport, topics=["bench.pong"]).join()
+
+
+if __name__ == "__main__":
+    if len(sys.argv) >= 2 and sys.argv[1] == "echo":
+        _echo(sys.argv[2:])
+    else:
+        print("usage: event_bus.py echo [ring directory | socket path]")
@@ -0,0 +1,495 @@
+//! Peer side of the Java event transport (`com.uplift.system.transport`).
+//!
+//! Frames are `[i32 length][i32 type][body]` with little-endian header fields; an
+//! event body is `[i32 type_length][event type UTF-8][payload]`, the payload in the
+//! Java `PayloadCodec` encoding (a key dictionary, then tagged values with varint
+//! lengths and integers). Payloads are
+//! decoded into `serde_json::Value` for the in-process bus; nothing is sent as JSON.
+//!
+//! `RingReader` consumes `java-to-peer.ring` and `RingWriter` produces into
+//! `peer-to-java.ring`, both created by the Java side in `transport.directory`.
+//! `UdsConnection` connects to `transport.socketPath` instead when the ring files
+//! cannot be shared.
+
+use std::fs::OpenOptions;
+use std::io::{self, Read, Write};
+use std::os::unix::net::UnixStream;
+use std::path::Path;
+use std::sync::atomic::{AtomicI32, AtomicI64, Ordering};
+use std::thread;
+use std::time::{Duration, Instant};
+
+use memmap2::MmapMut;
+use serde_json::{Map, Number, Value};
+
+use crate::event_bus::{EventBus, EventPayload};
+
+pub const FRAME_HEADER_SIZE: usize = 8;
+pub const FRAME_ALIGNMENT: usize = 8;
+pub const FRAME_EVENT: i32 = 1;
+pub const FRAME_PADDING: i32 = 2;
+
+pub const RING_MAGIC: i32 = 0x5552_4E47;
+pub const RING_VERSION: i32 = 2;
+pub const RING_HEADER_SIZE: usize = 192;
+const RING_CAPACITY_POSITION: usize = 8;
+const RING_TAIL_POSITION: usize = 64;
+const RING_HEAD_POSITION: usize = 128;
+
+pub const INBOUND_RING: &str = "java-to-peer.ring";
+pub const OUTBOUND_RING: &str = "peer-to-java.ring";
+
+const PAYLOAD_VERSION: u8 = 2;
+
+const NULL: u8 = 0;
+const FALSE: u8 = 1;
+const TRUE: u8 = 2;
+const INT: u8 = 3;
+const FLOAT: u8 = 4;
+const DOUBLE: u8 = 5;
+const STRING: u8 = 6;
+const BYTES: u8 = 7;
+const LIST: u8 = 8;
+const MAP: u8 = 9;
+
+fn invalid(message: &str) -> io::Error {
+    io::Error::new(io::ErrorKind::InvalidData, message.to_string())
+}
+
+fn align(length: usize) -> usize {
+    (length + FRAME_ALIGNMENT - 1) & !(FRAME_ALIGNMENT - 1)
+}
+
+/// Decodes a payload in the `PayloadCodec` encoding: a version byte, the key
+/// dictionary and the root map. Byte arrays become arrays of numbers.
+pub fn decode_payload(data: &[u8]) -> io::Result<Value> {
+    let mut position = 0;
+    if take(data, &mut position, 1)?[0] != PAYLOAD_VERSION {
+        return Err(invalid("Unsupported payload format version"));
+    }
+    let count = read_count(data, &mut position)?;
+    let mut keys = Vec::with_capacity(count.min(1024));
+    for _ in 0..count {
+        keys.push(read_string(data, &mut position)?);
+    }
+    if data.get(position) != Some(&MAP) {
+        return Err(invalid("Encoded payload must hold a map"));
+    }
+    read_value(data, &mut position, &keys)
+}
+
+fn take<'a>(data: &'a [u8], position: &mut usize, length: usize) -> io::Result<&'a [u8]> {
+    let end = position
+        .checked_add(length)
+        .filter(|end| *end <= data.len())
+        .ok_or_else(|| invalid("Truncated payload"))?;
+    let slice = &data[*position..end];
+    *position = end;
+    Ok(slice)
+}
+
+fn read_varint(data: &[u8], position: &mut usize) -> io::Result<u64> {
+    let mut value = 0u64;
+    let mut shift = 0;
+    while shift < 64 {
+        let byte = take(data, position, 1)?[0];
+        value |= u64::from(byte & 0x7F) << shift;
+        if byte < 0x80 {
+            return Ok(value);
+        }
+        shift += 7;
+    }
+    Err(invalid("Malformed varint"))
+}
+
+fn read_count(data: &[u8], position: &mut usize) -> io::Result<usize> {
+    let value = read_varint(data, position)?;
+    if value > i32::MAX as u64 {
+        return Err(invalid("Invalid length"));
+    }
+    Ok(value as usize)
+}
+
+fn read_string(data: &[u8], position: &mut usize) -> io::Result<String> {
+    let length = read_count(data, position)?;
+    String::from_utf8(take(data, position, length)?.to_vec()).map_err(|_| invalid("Invalid UTF-8"))
+}
+
+fn read_value(data: &[u8], position: &mut usize, keys: &[String]) -> io::Result<Value> {
+    let tag = take(data, position, 1)?[0];
+    Ok(match tag {
+        NULL => Value::Null,
+        FALSE => Value::Bool(false),
+        TRUE => Value::Bool(true),
+        INT => {
+            let zigzag = read_varint(data, position)?;
+            Value::from((zigzag >> 1) as i64 ^ -((zigzag & 1) as i64))
+        }
+        FLOAT => {
+            let value = f32::from_be_bytes(take(data, position, 4)?.try_into().unwrap());
+            Number::from_f64(f64::from(value)).map(Value::Number).unwrap_or(Value::Null)
+        }
+        DOUBLE => {
+            let value = f64::from_be_bytes(take(data, position, 8)?.try_into().unwrap());
+            Number::from_f64(value).map(Value::Number).unwrap_or(Value::Null)
+        }
+        STRING => Value::String(read_string(data, position)?),
+        BYTES => {
+            let length = read_count(data, position)?;
+            Value::Array(take(data, position, length)?.iter().map(|b| Value::from(*b)).collect())
+        }
+        LIST => {
+            let size = read_count(data, position)?;
+            take(data, position, 4)?;
+            let mut items = Vec::with_capacity(size.min(1024));
+            for _ in 0..size {
+                items.push(read_value(data, position, keys)?);
+            }
+            Value::Array(items)
+        }
+        MAP => {
+            let size = read_count(data, position)?;
+            take(data, position, 4)?;
+            let mut map = Map::new();
+            for _ in 0..size {
+                let index = read_count(data, position)?;
+                let key = keys.get(index).ok_or_else(|| invalid("Invalid key index"))?;
+                map.insert(key.clone(), read_value(data, position, keys)?);
+            }
+            Value::Object(map)
+        }
+        other => return Err(invalid(&format!("Unknown value tag {}", other))),
+    })
+}
+
+/// Encodes a JSON object in the `PayloadCodec` encoding.
+pub fn encode_payload(payload: &Value) -> io::Result<Vec<u8>> {
+    if !payload.is_object() {
+        return Err(invalid("Payload must be an object"));
+    }
+    let mut keys: Vec<&str> = Vec::new();
+    let mut body = Vec::with_capacity(256);
+    write_value(&mut body, payload, &mut keys);
+    let mut out = Vec::with_capacity(body.len() + 64);
+    out.push(PAYLOAD_VERSION);
+    write_varint(&mut out, keys.len() as u64);
+    for key in &keys {
+        write_str(&mut out, key);
+    }
+    out.extend_from_slice(&body);
+    Ok(out)
+}
+
+fn write_varint(out: &mut Vec<u8>, mut value: u64) {
+    while value > 0x7F {
+        out.push((value as u8 & 0x7F) | 0x80);
+        value >>= 7;
+    }
+    out.push(value as u8);
+}
+
+fn write_str(out: &mut Vec<u8>, value: &str) {
+    write_varint(out, value.len() as u64);
+    out.extend_from_slice(value.as_bytes());
+}
+
+fn write_container<F>(out: &mut Vec<u8>, tag: u8, count: usize, write_content: F)
+where
+    F: FnOnce(&mut Vec<u8>),
+{
+    out.push(tag);
+    write_varint(out, count as u64);
+    let size_position = out.len();
+    out.extend_from_slice(&[0; 4]);
+    write_content(out);
+    let size = (out.len() - size_position - 4) as i32;
+    out[size_position..size_position + 4].copy_from_slice(&size.to_be_bytes());
+}
+
+fn write_value<'a>(out: &mut Vec<u8>, value: &'a Value, keys: &mut Vec<&'a str>) {
+    match value {
+        Value::Null => out.push(NULL),
+        Value::Bool(flag) => out.push(if *flag { TRUE } else { FALSE }),
+        Value::Number(number) => match number.as_i64() {
+            Some(integer) => {
+                out.push(INT);
+                write_varint(out, ((integer << 1) ^ (integer >> 63)) as u64);
+            }
+            None => {
+                let value = number.as_f64().unwrap_or(f64::NAN);
+                if f64::from(value as f32) == value {
+                    out.push(FLOAT);
+                    out.extend_from_slice(&(value as f32).to_be_bytes());
+                } else {
+                    out.push(DOUBLE);
+                    out.extend_from_slice(&value.to_be_bytes());
+                }
+            }
+        },
+        Value::String(text) => {
+            out.push(STRING);
+            write_str(out, text);
+        }
+        Value::Array(items) => write_container(out, LIST, items.len(), |out| {
+            for item in items {
+                write_value(out, item, keys);
+            }
+        }),
+        Value::Object(map) => write_container(out, MAP, map.len(), |out| {
+            for (key, item) in map {
+                let index = match keys.iter().position(|known| *known == key.as_str()) {
+                    Some(index) => index,
+                    None => {
+                        keys.push(key.as_str());
+                        keys.len() - 1
+                    }
+                };
+                write_varint(out, index as u64);
+                write_value(out, item, keys);
+            }
+        }),
+    }
+}
+
+/// Encodes the body of an event frame.
+pub fn encode_event_body(event_type: &str, payload: &Value) -> io::Result<Vec<u8>> {
+    let mut body = Vec::with_capacity(4 + event_type.len() + 256);
+    body.extend_from_slice(&(event_type.len() as i32).to_le_bytes());
+    body.extend_from_slice(event_type.as_bytes());
+    body.extend_from_slice(&encode_payload(payload)?);
+    Ok(body)
+}
+
+/// Decodes the body of an event frame into its type and payload.
+pub fn decode_event_body(body: &[u8]) -> io::Result<EventPayload> {
+    if body.len() < 4 {
+        return Err(invalid("Malformed event frame"));
+    }
+    let type_length = i32::from_le_bytes(body[0..4].try_into().unwrap());
+    let type_length = usize::try_from(type_length)
+        .ok()
+        .filter(|length| *length <= body.len() - 4)
+        .ok_or_else(|| invalid("Malformed event frame"))?;
+    let event_type = String::from_utf8(body[4..4 + type_length].to_vec())
+        .map_err(|_| invalid("Invalid UTF-8"))?;
+    Ok(EventPayload {
+        event_type,
+        data: decode_payload(&body[4 + type_length..])?,
+    })
+}
+
+/// A mapped ring file created by the Java `SharedMemoryRing`.
+struct Ring {
+    _map: MmapMut,
+    base: *mut u8,
+    capacity: usize,
+}
+
+// The mapping is shared with other processes anyway; access goes through atomics
+// for the control words and is otherwise confined to claimed frames.
+unsafe impl Send for Ring {}
+unsafe impl Sync for Ring {}
+
+impl Ring {
+    fn open(path: &Path, timeout: Duration) -> io::Result<Ring> {
+        let deadline = Instant::now() + timeout;
+        loop {
+            if let Ok(file) = OpenOptions::new().read(true).write(true).open(path) {
+                if file.metadata()?.len() > RING_HEADER_SIZE as u64 {
+                    let mut map = unsafe { MmapMut::map_mut(&file)? };
+                    let base = map.as_mut_ptr();
+                    let ring = Ring { _map: map, base, capacity: 0 };
+                    if ring.int(0).load(Ordering::Acquire) == RING_MAGIC {
+                        if ring.int(4).load(Ordering::Relaxed) != RING_VERSION {
+                            return Err(invalid("Unsupported ring version"));
+                        }
+                        let capacity = ring.int(RING_CAPACITY_POSITION).load(Ordering::Relaxed) as usize;
+                        return Ok(Ring { capacity, ..ring });
+                    }
+                }
+            }
+            if Instant::now() > deadline {
+                return Err(io::Error::new(io::ErrorKind::TimedOut, "Ring was not initialized"));
+            }
+            thread::sleep(Duration::from_millis(50));
+        }
+    }
+
+    fn int(&self, index: usize) -> &AtomicI32 {
+        unsafe { &*(self.base.add(index) as *const AtomicI32) }
+    }
+
+    fn long(&self, index: usize) -> &AtomicI64 {
+        unsafe { &*(self.base.add(index) as *const AtomicI64) }
+    }
+
+    fn data_index(&self, position: u64) -> usize {
+        RING_HEADER_SIZE + (position as usize & (self.capacity - 1))
+    }
+}
+
+/// Single consumer of a ring.
+pub struct RingReader {
+    ring: Ring,
+    head: u64,
+}
+
+impl RingReader {
+    /// Opens the ring Java writes to in `directory`, waiting up to `timeout` for it.
+    pub fn open(directory: &Path, timeout: Duration) -> io::Result<RingReader> {
+        let ring = Ring::open(&directory.join(INBOUND_RING), timeout)?;
+        let head = ring.long(RING_HEAD_POSITION).load(Ordering::Acquire) as u64;
+        Ok(RingReader { ring, head })
+    }
+
+    /// Passes up to `limit` events to the receiver in order and returns how many.
+    pub fn poll<F>(&mut self, mut receiver: F, limit: usize) -> io::Result<usize>
+    where
+        F: FnMut(EventPayload),
+    {
+        let mut handled = 0;
+        let mut position = self.head;
+        let mut result = Ok(());
+        while handled < limit {
+            let index = self.ring.data_index(position);
+            let length = self.ring.int(index).load(Ordering::Acquire);
+            if length == 0 {
+                break;
+            }
+            let length = length as usize;
+            let aligned = align(length);
+            if self.ring.int(index + 4).load(Ordering::Relaxed) == FRAME_EVENT {
+                handled += 1;
+                let body = unsafe {
+                    std::slice::from_raw_parts(
+                        self.ring.base.add(index + FRAME_HEADER_SIZE),
+                        length - FRAME_HEADER_SIZE,
+                    )
+                };
+                match decode_event_body(body) {
+                    Ok(event) => receiver(event),
+                    Err(error) => result = Err(error),
+                }
+            }
+            unsafe { std::ptr::write_bytes(self.ring.base.add(index), 0, aligned) };
+            position += aligned as u64;
+            if result.is_err() {
+                break;
+            }
+        }
+        if position != self.head {
+            self.head = position;
+            self.ring.long(RING_HEAD_POSITION).store(position as i64, Ordering::Release);
+        }
+        result.map(|_| handled)
+    }
+}
+
+/// Producer into the ring Java reads; several writers may share a ring.
+pub struct RingWriter {
+    ring: Ring,
+}
+
+impl RingWriter {
+    /// Opens the ring Java reads from in `directory`, waiting up to `timeout` for it.
+    pub fn open(directory: &Path, timeout: Duration) -> io::Result<RingWriter> {
+        Ok(RingWriter {
+            ring: Ring::open(&directory.join(OUTBOUND_RING), timeout)?,
+        })
+    }
+
+    /// Writes an event frame, returning false if the ring is full.
+    pub fn offer(&self, event_type: &str, payload: &Value) -> io::Result<bool> {
+        let body = encode_event_body(event_type, payload)?;
+        let length = FRAME_HEADER_SIZE + body.len();
+        let required = align(length);
+        if required > self.ring.capacity {
+            return Err(invalid("Event frame exceeds the ring capacity"));
+        }
+        let tail_word = self.ring.long(RING_TAIL_POSITION);
+        let (tail, padding) = loop {
+            let tail = tail_word.load(Ordering::Acquire) as u64;
+            let head = self.ring.long(RING_HEAD_POSITION).load(Ordering::Acquire) as u64;
+            let to_end = self.ring.capacity - (tail as usize & (self.ring.capacity - 1));
+            let padding = if required > to_end { to_end } else { 0 };
+            if tail + (padding + required) as u64 - head > self.ring.capacity as u64 {
+                return Ok(false);
+            }
+            let claimed = (tail + (padding + required) as u64) as i64;
+            if tail_word
+                .compare_exchange(tail as i64, claimed, Ordering::AcqRel, Ordering::Relaxed)
+                .is_ok()
+            {
+                break (tail, padding);
+            }
+        };
+        let mut index = self.ring.data_index(tail);
+        if padding > 0 {
+            self.ring.int(index + 4).store(FRAME_PADDING, Ordering::Relaxed);
+            self.ring.int(index).store(padding as i32, Ordering::Release);
+            index = RING_HEADER_SIZE;
+        }
+        self.ring.int(index + 4).store(FRAME_EVENT, Ordering::Relaxed);
+        unsafe {
+            std::ptr::copy_nonoverlapping(
+                body.as_ptr(),
+                self.ring.base.add(index + FRAME_HEADER_SIZE),
+                body.len(),
+            );
+        }
+        self.ring.int(index).store(length as i32, Ordering::Release);
+        Ok(true)
+    }
+}
+
+/// Connection to the Java `UnixSocketTransport`.
+pub struct UdsConnection {
+    stream: UnixStream,
+}
+
+impl UdsConnection {
+    pub fn connect(socket_path: &Path) -> io::Result<UdsConnection> {
+        Ok(UdsConnection {
+            stream: UnixStream::connect(socket_path)?,
+        })
+    }
+
+    pub fn send(&mut self, event_type: &str, payload: &Value) -> io::Result<()> {
+        let body = encode_event_body(event_type, payload)?;
+        let mut frame = Vec::with_capacity(FRAME_HEADER_SIZE + body.len());
+        frame.extend_from_slice(&((FRAME_HEADER_SIZE + body.len()) as i32).to_le_bytes());
+        frame.extend_from_slice(&FRAME_EVENT.to_le_bytes());
+        frame.extend_from_slice(&body);
+        self.stream.write_all(&frame)
+    }
+
+    /// Reads the next event, skipping frames of other types.
+    pub fn receive(&mut self) -> io::Result<EventPayload> {
+        loop {
+            let mut header = [0u8; FRAME_HEADER_SIZE];
+            self.stream.read_exact(&mut header)?;
+            let length = i32::from_le_bytes(header[0..4].try_into().unwrap());
+            let frame_type = i32::from_le_bytes(header[4..8].try_into().unwrap());
+            let body_length = usize::try_from(length)
+                .ok()
+                .and_then(|length| length.checked_sub(FRAME_HEADER_SIZE))
+                .ok_or_else(|| invalid("Invalid frame length"))?;
+            let mut body = vec![0u8; body_length];
+            self.stream.read_exact(&mut body)?;
+            if frame_type == FRAME_EVENT {
+                return decode_event_body(&body);
+            }
+        }
+    }
+}
+
+/// Delivers up to `limit` events from the ring to the bus's listeners.
+pub fn pump(reader: &mut RingReader, bus: &EventBus, limit: usize) -> io::Result<usize> {
+    reader.poll(
+        |event| {
+            let event_type = event.event_type.clone();
+            bus.publish(&event_type, event);
+        },
+        limit,
+    )
+}